@@ -0,0 +1,125 @@
+package savvy.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.greenrobot.eventbus.EventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import savvy.SavvyEventBusIndex;
+import savvy.core.entity.Entities;
+import savvy.core.fact.Facts;
+import savvy.core.relationship.Relationships;
+import savvy.core.relationship.events.RelationshipsRead;
+import savvy.ui.app.AppController;
+import savvy.ui.common.Suggestions;
+import savvy.ui.entities_list.EntitiesListController;
+import savvy.ui.fact_create.FactCreateController;
+import savvy.ui.facts_list.FactsListController;
+import savvy.ui.relationships_list.RelationshipsListController;
+
+/**
+ * registers the app's subscribers with & posts to a default event bus (reflection: subscribers
+ * found by reflection, events delivered to the subscribers of their super types too) or the app's
+ * bus (index: subscribers found in the app's generated index, events delivered by exact class)
+ *
+ * <p>note: the controllers are registered but never posted to, their listeners need the scene
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventsBenchmark {
+  @Param({"reflection", "index"})
+  public String bus;
+
+  // the subscribers post to this bus, they are never initialized so it stays unused
+  private final Events _unused = new Events(new SavvyEventBusIndex());
+
+  // delivered to Facts & Suggestions (which update their autocomplete), the other core subscribers
+  // are registered for other events
+  private final RelationshipsRead _read = new RelationshipsRead(List.of(), List.of());
+
+  private List<Object> _subscribers;
+  private Consumer<Object> _post;
+  private Runnable _shutDown;
+
+  @Setup
+  public void setUp() {
+    _subscribers = subscribers();
+    _subscribers.addAll(controllers());
+
+    if (bus.equals("index")) {
+      var events = new Events(new SavvyEventBusIndex());
+      subscribers().forEach(events::register);
+      _post = events::post;
+      _shutDown = events::shutDown;
+    } else {
+      var eventBus = new EventBus();
+      subscribers().forEach(eventBus::register);
+      _post = eventBus::post;
+      _shutDown = () -> {};
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    _shutDown.run();
+    _unused.shutDown();
+  }
+
+  /** @return the bus with every subscriber registered, found again (as a new app would) */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Object startup() {
+    EventBus.clearCaches();
+    if (bus.equals("index")) {
+      var events = new Events(new SavvyEventBusIndex());
+      _subscribers.forEach(events::register);
+      events.shutDown();
+      return events;
+    }
+
+    var eventBus = new EventBus();
+    _subscribers.forEach(eventBus::register);
+    return eventBus;
+  }
+
+  @Benchmark
+  public void dispatch() {
+    _post.accept(_read);
+  }
+
+  /** @return the core subscribers (a new set, since a bus takes each subscriber once) */
+  private List<Object> subscribers() {
+    return new ArrayList<>(
+        List.of(
+            new Facts(_unused),
+            new Entities(_unused),
+            new Relationships(_unused),
+            Suggestions.getDefault()));
+  }
+
+  /** @return the view controllers */
+  private List<Object> controllers() {
+    return List.of(
+        new AppController(_unused),
+        new FactsListController(_unused),
+        new FactCreateController(_unused),
+        new EntitiesListController(_unused),
+        new RelationshipsListController(_unused));
+  }
+}
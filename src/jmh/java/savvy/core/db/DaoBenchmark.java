@@ -0,0 +1,65 @@
+package savvy.core.db;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import savvy.core.entity.Entity;
+import savvy.core.fact.Fact;
+import savvy.core.fact.Modifier;
+import savvy.core.relationship.Relationship;
+
+/** reads & writes facts through the Dao on a graph of random facts */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+  private final Random _random = new Random(7);
+  private int _created = 0;
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Set<Fact> readAllFacts(GraphState graph) {
+    return graph.dao.readAllFacts();
+  }
+
+  // the per-entity traversal readAllFacts replaced
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Set<Fact> readAllFactsByTraversal(GraphState graph) {
+    return graph.dao.readAllFactsByTraversal();
+  }
+
+  @Benchmark
+  public Set<Fact> readFactsBetween(GraphState graph) {
+    return graph.dao.readFactsBetween(graph.entity(_random), graph.entity(_random));
+  }
+
+  @Benchmark
+  public FactsPage readRelatedFacts(GraphState graph) {
+    return graph.dao.readRelatedFacts(graph.entity(_random), NeighbourhoodOptions.DEFAULT, null);
+  }
+
+  // note: every fact is new, so the graph grows by one entity & fact per call
+  @Benchmark
+  public boolean createFact(GraphState graph) {
+    var fact =
+        new Fact(
+            new Entity(graph.entity(_random), Set.of()),
+            new Relationship("created", Set.of()),
+            new Entity("created " + _created++, Set.of()),
+            new Modifier(true, "", "", ""));
+    return graph.dao.createFact(fact);
+  }
+}
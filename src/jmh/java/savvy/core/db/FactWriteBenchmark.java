@@ -0,0 +1,81 @@
+package savvy.core.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.io.fs.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import savvy.core.fact.Fact;
+
+/**
+ * writes a synthetic graph (see GraphGenerator) into an empty db one transaction per fact and in
+ * batches, each iteration writes the whole graph once into a new db
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FactWriteBenchmark {
+  // number of facts written
+  @Param("2000")
+  public int facts;
+
+  @Param("42")
+  public long seed;
+
+  private List<Fact> _facts;
+  private File _directory;
+  private EmbeddedNeo4j _en4j;
+  private Dao _dao;
+
+  @Setup(Level.Trial)
+  public void generate() {
+    _facts = new GraphGenerator(GraphShape.DEFAULT.withFacts(facts), seed).facts();
+  }
+
+  @Setup(Level.Iteration)
+  public void setUp() throws IOException {
+    _directory = Files.createTempDirectory("savvy-jmh").toFile();
+    _en4j = new EmbeddedNeo4j(new File(_directory, "savvy-db"));
+    _en4j.createDb(false);
+    _dao = new Dao(_en4j);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws IOException {
+    _en4j.shutDown();
+    FileUtils.deleteRecursively(_directory);
+  }
+
+  @Benchmark
+  public int single() {
+    var created = 0;
+    for (var fact : _facts) {
+      if (_dao.createFact(fact)) {
+        created++;
+      }
+    }
+    return created;
+  }
+
+  @Benchmark
+  public int batched() {
+    return _dao.createFacts(_facts);
+  }
+}
@@ -0,0 +1,57 @@
+package savvy.core.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import org.neo4j.io.fs.FileUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * a temporary db holding a synthetic graph (see GraphGenerator), built once per trial (its size is
+ * set with e.g. -p facts=100000)
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+  // number of facts in the graph
+  @Param({"1000", "10000"})
+  public int facts;
+
+  @Param("42")
+  public long seed;
+
+  public GraphShape shape;
+  public EmbeddedNeo4j en4j;
+  public Dao dao;
+
+  private File _directory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    _directory = Files.createTempDirectory("savvy-jmh").toFile();
+    en4j = new EmbeddedNeo4j(new File(_directory, "savvy-db"));
+    en4j.createDb(false);
+    dao = new Dao(en4j);
+    shape = GraphShape.DEFAULT.withFacts(facts);
+    new GraphGenerator(shape, seed).writeTo(dao);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    en4j.shutDown();
+    FileUtils.deleteRecursively(_directory);
+  }
+
+  /**
+   * @param random source
+   * @return the name of a random entity of the graph
+   */
+  public String entity(Random random) {
+    return "entity " + random.nextInt(shape.entities());
+  }
+}
@@ -0,0 +1,70 @@
+package savvy.core.db;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import savvy.core.relationship.Correlate;
+
+/** converts sets of aliases & correlates to and from their stored bytes */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerDeBenchmark {
+  // number of values in each set
+  @Param({"1", "10", "100"})
+  public int size;
+
+  private final SerDe<String> _aliases = new SerDe<>();
+  private final SerDe<Correlate> _correlates = new SerDe<>();
+
+  private Set<String> _aliasSet;
+  private Set<Correlate> _correlateSet;
+  private byte[] _aliasBytes;
+  private byte[] _correlateBytes;
+
+  @Setup
+  public void setUp() {
+    _aliasSet = new HashSet<>();
+    _correlateSet = new HashSet<>();
+    for (var i = 0; i < size; i++) {
+      _aliasSet.add("alias " + i);
+      _correlateSet.add(new Correlate("relationship " + i, "[←relationship " + i + "]"));
+    }
+    _aliasBytes = _aliases.fromSet(_aliasSet);
+    _correlateBytes = _correlates.fromSet(_correlateSet);
+  }
+
+  @Benchmark
+  public byte[] aliasesFromSet() {
+    return _aliases.fromSet(_aliasSet);
+  }
+
+  @Benchmark
+  public Set<String> aliasesToSet() {
+    return _aliases.toSet(_aliasBytes);
+  }
+
+  @Benchmark
+  public byte[] correlatesFromSet() {
+    return _correlates.fromSet(_correlateSet);
+  }
+
+  @Benchmark
+  public Set<Correlate> correlatesToSet() {
+    return _correlates.toSet(_correlateBytes);
+  }
+}
@@ -0,0 +1,64 @@
+package savvy.core.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * maps identifiers to entities through the EntityIndex (exact & similar) and through a scan of
+ * every entity
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapEntityBenchmark {
+  // number of entities (each with an alias)
+  @Param({"10000", "100000", "1000000"})
+  public int entities;
+
+  private final Random _random = new Random(7);
+  private List<Entity> _list;
+  private EntityIndex _index;
+
+  @Setup
+  public void setUp() {
+    _list = new ArrayList<>(entities);
+    for (var i = 0; i < entities; i++) {
+      _list.add(new Entity("entity " + i, Set.of("alias " + i)));
+    }
+    _index = new EntityIndex(_list);
+  }
+
+  @Benchmark
+  public EntityMapping indexed() {
+    return Entities.mapEntity(_index, "alias " + _random.nextInt(entities));
+  }
+
+  // a misspelled identifier -> a new entity along with the similar ones
+  @Benchmark
+  public EntityMapping indexedSimilar() {
+    return Entities.mapEntity(_index, "entiyt " + _random.nextInt(entities));
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public EntityMapping scanned() {
+    return Entities.mapEntity(_list, "alias " + _random.nextInt(entities));
+  }
+}
@@ -2,6 +2,7 @@ package savvy;
 
 import java.io.IOException;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -10,9 +11,11 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
 import javafx.stage.Stage;
-import org.greenrobot.eventbus.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Coalescer;
+import savvy.core.CoreExecutor;
+import savvy.core.Events;
 import savvy.core.db.EmbeddedNeo4j;
 import savvy.ui.app.AppController;
 import savvy.ui.app.DoShowTab;
@@ -20,7 +23,7 @@ import savvy.ui.app.DoShowTab;
 /** entry point for the application */
 public class App extends Application {
   private static final EmbeddedNeo4j _db = new EmbeddedNeo4j();
-  private static final EventBus events = new EventBus();
+  private static final Events events = new Events(new SavvyEventBusIndex());
 
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
@@ -37,8 +40,13 @@ public class App extends Application {
       log.error(e.toString());
     }
 
+    // run db work off the FX thread, handling results back on it
+    CoreExecutor.setDefault(new CoreExecutor(CoreExecutor.DEFAULT_READERS, Platform::runLater));
+    Coalescer.setDefault(new Coalescer(Coalescer.DEFAULT_WINDOW_MILLIS, Platform::runLater));
+
     // load the FXML
     var loader = new FXMLLoader(getClass().getClassLoader().getResource("views/app.fxml"));
+    loader.setControllerFactory(App::controller);
     Parent root = loader.load();
 
     // inject the db
@@ -51,9 +59,9 @@ public class App extends Application {
     var e = new KeyCodeCombination(KeyCode.E, KeyCombination.CONTROL_DOWN);
     var r = new KeyCodeCombination(KeyCode.R, KeyCombination.CONTROL_DOWN);
 
-    scene.getAccelerators().put(f, () -> EventBus.getDefault().post(new DoShowTab(f.getCode())));
-    scene.getAccelerators().put(e, () -> EventBus.getDefault().post(new DoShowTab(e.getCode())));
-    scene.getAccelerators().put(r, () -> EventBus.getDefault().post(new DoShowTab(r.getCode())));
+    scene.getAccelerators().put(f, () -> events.post(new DoShowTab(f.getCode())));
+    scene.getAccelerators().put(e, () -> events.post(new DoShowTab(e.getCode())));
+    scene.getAccelerators().put(r, () -> events.post(new DoShowTab(r.getCode())));
 
     stage.setScene(scene);
 
@@ -63,4 +71,23 @@ public class App extends Application {
     // show the scene
     stage.show();
   }
+
+  /**
+   * creates the controllers of the FXML views (including the included ones), injecting the event
+   * bus into those that take it
+   *
+   * @param type of the controller
+   * @return the controller
+   */
+  private static Object controller(Class<?> type) {
+    try {
+      try {
+        return type.getConstructor(Events.class).newInstance(events);
+      } catch (NoSuchMethodException e) {
+        return type.getConstructor().newInstance();
+      }
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("cannot create controller " + type.getName(), e);
+    }
+  }
 }
@@ -0,0 +1,154 @@
+package savvy.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collapses repeated refreshes into one. A refresh is requested under a key, every request for the
+ * same key made within a short window is served by a single run of the latest requested refresh.
+ * Refreshes are run through a result executor (the JavaFX thread in the app), like the results of
+ * the core executor.
+ *
+ * <p>counts the refreshes requested and run, the difference being the refreshes saved
+ */
+public final class Coalescer {
+  public static final long DEFAULT_WINDOW_MILLIS = 50;
+
+  private static Coalescer defaultInstance;
+
+  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+  private final long _windowMillis;
+  private final Executor _results;
+  private final ScheduledExecutorService _timer;
+
+  // key -> latest requested refresh & number of requests it serves (in request order)
+  private final Map<String, Runnable> _pending = new LinkedHashMap<>();
+  private final Map<String, Long> _requests = new LinkedHashMap<>();
+
+  private long _requested = 0;
+  private long _refreshed = 0;
+  private long _saved = 0;
+
+  /**
+   * @param windowMillis time a refresh waits for more requests, 0 to only coalesce the requests made
+   *     before the result executor runs it
+   * @param results runs the refreshes (e.g. Platform::runLater)
+   */
+  public Coalescer(long windowMillis, Executor results) {
+    if (windowMillis < 0) {
+      throw new IllegalArgumentException("windowMillis must not be negative");
+    }
+    _windowMillis = windowMillis;
+    _results = results;
+    _timer =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              var thread = new Thread(r, "core-coalesce");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * @return the shared instance (refreshes are run on the timer thread unless another instance was
+   *     set with setDefault)
+   */
+  public static synchronized Coalescer getDefault() {
+    if (defaultInstance == null) {
+      defaultInstance = new Coalescer(DEFAULT_WINDOW_MILLIS, Runnable::run);
+    }
+    return defaultInstance;
+  }
+
+  /**
+   * replaces the shared instance (the previous one is shut down)
+   *
+   * @param coalescer to share
+   */
+  public static synchronized void setDefault(Coalescer coalescer) {
+    if (defaultInstance != null) {
+      defaultInstance.shutDown();
+    }
+    defaultInstance = coalescer;
+  }
+
+  /**
+   * requests a refresh, it runs once the window has passed along with any other request for the
+   * same key
+   *
+   * @param key of the refresh
+   * @param refresh to run, replaces a refresh already requested under the key
+   */
+  public void request(String key, Runnable refresh) {
+    boolean schedule;
+    synchronized (this) {
+      _requested++;
+      _requests.merge(key, 1L, Long::sum);
+      schedule = _pending.put(key, refresh) == null;
+    }
+
+    if (!schedule) {
+      return;
+    }
+    if (_windowMillis == 0) {
+      _results.execute(() -> flush(key));
+    } else {
+      _timer.schedule(
+          () -> _results.execute(() -> flush(key)), _windowMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /** @return the number of refreshes requested */
+  public synchronized long requested() {
+    return _requested;
+  }
+
+  /** @return the number of refreshes run */
+  public synchronized long refreshed() {
+    return _refreshed;
+  }
+
+  /** @return the number of refreshes saved by coalescing (requested but not run) */
+  public synchronized long saved() {
+    return _saved;
+  }
+
+  /** stops the window timer, refreshes waiting for it are not run */
+  public void shutDown() {
+    _timer.shutdown();
+  }
+
+  /**
+   * runs the refresh requested under a key (if it is still pending)
+   *
+   * @param key of the refresh
+   */
+  private void flush(String key) {
+    Runnable refresh;
+    long requests;
+    synchronized (this) {
+      refresh = _pending.remove(key);
+      if (refresh == null) {
+        return;
+      }
+      requests = _requests.remove(key);
+      _refreshed++;
+      _saved += requests - 1;
+    }
+
+    if (requests > 1) {
+      log.debug("{}: {} requests -> 1 refresh", key, requests);
+    }
+    try {
+      refresh.run();
+    } catch (RuntimeException e) {
+      log.error("{} failed -- ", key, e);
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package savvy.core;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs db work off the UI thread. Reads run on a bounded pool, writes run one at a time (in the
+ * order they were submitted). Results are handed back through a result executor (the JavaFX
+ * thread in the app) so core state is only ever touched from that thread.
+ *
+ * <p>reads may be keyed, submitting a keyed read makes any earlier read with the same key stale: it
+ * is dropped if it has not started yet and its result is discarded otherwise. note: a read never
+ * runs on the submitting (UI) thread, when the queue is full the stale reads are purged from it
+ * and if it is still full the read is dropped (reported on the result executor)
+ */
+public final class CoreExecutor {
+  public static final int DEFAULT_READERS =
+      Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+  public static final int DEFAULT_QUEUE_SIZE = 64;
+
+  private static CoreExecutor defaultInstance;
+
+  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+  private final ExecutorService _readers;
+  private final ExecutorService _writer;
+  private final Executor _results;
+
+  // latest submission of each keyed read, removed once it completes
+  private final Map<String, Read> _pending = new ConcurrentHashMap<>();
+
+  /**
+   * @param readers number of threads reading from the db
+   * @param results runs result callbacks (e.g. Platform::runLater)
+   */
+  public CoreExecutor(int readers, Executor results) {
+    if (readers < 1) {
+      throw new IllegalArgumentException("readers must be at least 1");
+    }
+
+    _readers =
+        new ThreadPoolExecutor(
+            readers,
+            readers,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(DEFAULT_QUEUE_SIZE),
+            threads("core-read"),
+            CoreExecutor::purgeAndRetry);
+    _writer = Executors.newSingleThreadExecutor(threads("core-write"));
+    _results = results;
+  }
+
+  /**
+   * @return the shared instance (results are delivered on the worker thread unless another
+   *     instance was set with setDefault)
+   */
+  public static synchronized CoreExecutor getDefault() {
+    if (defaultInstance == null) {
+      defaultInstance = new CoreExecutor(DEFAULT_READERS, Runnable::run);
+    }
+    return defaultInstance;
+  }
+
+  /**
+   * replaces the shared instance (the previous one is shut down)
+   *
+   * @param executor to share
+   */
+  public static synchronized void setDefault(CoreExecutor executor) {
+    if (defaultInstance != null) {
+      defaultInstance.shutDown();
+    }
+    defaultInstance = executor;
+  }
+
+  /**
+   * reads from the db on the read pool
+   *
+   * @param key of the read, an earlier read with the same key becomes stale
+   * @param work to run off the UI thread
+   * @param onResult receives the result on the result executor (unless the read became stale)
+   * @param <T> type of the result
+   */
+  public <T> void read(String key, Supplier<T> work, Consumer<T> onResult) {
+    var read = new Read();
+
+    // not interrupted: interrupting a thread inside a transaction can close store files
+    var previous = _pending.put(key, read);
+    if (previous != null && previous.future != null) {
+      previous.future.cancel(false);
+    }
+
+    try {
+      read.future =
+          _readers.submit(
+              () -> {
+                if (_pending.get(key) != read) {
+                  return;
+                }
+                var result = run(key, work);
+                if (result == null) {
+                  _pending.remove(key, read);
+                  return;
+                }
+                _results.execute(
+                    () -> {
+                      if (_pending.remove(key, read)) {
+                        onResult.accept(result);
+                      }
+                    });
+              });
+    } catch (RejectedExecutionException e) {
+      _pending.remove(key, read);
+      _results.execute(() -> log.warn("read '{}' dropped -- {}", key, e.getMessage()));
+    }
+  }
+
+  /** @return the number of keyed reads submitted and not yet completed (or made stale) */
+  int pending() {
+    return _pending.size();
+  }
+
+  /**
+   * writes to the db on the write thread (after every write submitted before it) note: reads that
+   * must observe earlier writes, and be observed before later ones, can be run here too
+   *
+   * @param work to run off the UI thread
+   * @param onResult receives the result on the result executor
+   * @param <T> type of the result
+   */
+  public <T> void write(Supplier<T> work, Consumer<T> onResult) {
+    _writer.execute(
+        () -> {
+          var result = run("write", work);
+          if (result != null) {
+            _results.execute(() -> onResult.accept(result));
+          }
+        });
+  }
+
+  /**
+   * runs work without a result on the write thread (after every write submitted before it)
+   *
+   * @param work to run off the UI thread
+   */
+  public void write(Runnable work) {
+    write(
+        () -> {
+          work.run();
+          return null;
+        },
+        result -> {});
+  }
+
+  /** stops accepting work, work already submitted still runs */
+  public void shutDown() {
+    _readers.shutdown();
+    _writer.shutdown();
+  }
+
+  /** a keyed read, current while it is the one pending under its key */
+  private static final class Read {
+    volatile Future<?> future;
+  }
+
+  /**
+   * runs work, logging (rather than propagating) any failure
+   *
+   * @param label to log a failure with
+   * @param work to run
+   * @param <T> type of the result
+   * @return the result or null if the work failed
+   */
+  private <T> T run(String label, Supplier<T> work) {
+    try {
+      return work.get();
+    } catch (RuntimeException e) {
+      log.error("{} failed -- ", label, e);
+      return null;
+    }
+  }
+
+  /**
+   * handles a read the full queue rejected, without running it on the submitting thread: stale
+   * (cancelled) reads are purged from the queue to make room for it
+   *
+   * @param read rejected
+   * @param readers pool that rejected it
+   * @throws RejectedExecutionException if the queue is still full (or the pool is shut down)
+   */
+  private static void purgeAndRetry(Runnable read, ThreadPoolExecutor readers) {
+    readers.purge();
+    if (readers.isShutdown() || !readers.getQueue().offer(read)) {
+      throw new RejectedExecutionException("the read queue is full");
+    }
+  }
+
+  /**
+   * @param name prefix for thread names
+   * @return a factory of daemon threads (so they never keep the app alive)
+   */
+  private static ThreadFactory threads(String name) {
+    var count = new AtomicInteger();
+    return r -> {
+      var thread = new Thread(r, name + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
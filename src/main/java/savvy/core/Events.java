@@ -0,0 +1,84 @@
+package savvy.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.greenrobot.eventbus.EventBus;
+import org.greenrobot.eventbus.meta.SubscriberInfoIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The app's event bus. Subscribers are looked up in a subscriber index generated at build time (by
+ * the EventBus annotation processor) rather than found by reflection, registering a subscriber
+ * missing from the index fails instead of falling back to reflection. Events are delivered to the
+ * subscribers of their exact class (events are never subclassed), background & async subscribers
+ * run on the bus' own executor.
+ */
+public final class Events {
+  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+  private final SubscriberInfoIndex _index;
+  private final ExecutorService _executor;
+  private final EventBus _bus;
+
+  /** @param index of the subscribers (generated at build time) */
+  public Events(SubscriberInfoIndex index) {
+    _index = index;
+    _executor = Executors.newCachedThreadPool(threads());
+    _bus =
+        EventBus.builder()
+            .addIndex(index)
+            .eventInheritance(false)
+            .logNoSubscriberMessages(false)
+            .sendNoSubscriberEvent(false)
+            .executorService(_executor)
+            .build();
+  }
+
+  /**
+   * registers a subscriber for the events it subscribes to
+   *
+   * @param subscriber to register, its class must be in the subscriber index
+   */
+  public void register(Object subscriber) {
+    if (_index.getSubscriberInfo(subscriber.getClass()) == null) {
+      throw new IllegalArgumentException(
+          subscriber.getClass().getName() + " is not in the subscriber index");
+    }
+    _bus.register(subscriber);
+  }
+
+  /**
+   * unregisters a subscriber
+   *
+   * @param subscriber to unregister
+   */
+  public void unregister(Object subscriber) {
+    _bus.unregister(subscriber);
+  }
+
+  /**
+   * posts an event to its subscribers
+   *
+   * @param event to post
+   */
+  public void post(Object event) {
+    _bus.post(event);
+  }
+
+  /** stops the executor of background & async subscribers */
+  public void shutDown() {
+    _executor.shutdown();
+  }
+
+  /** @return a factory of daemon threads (so they never keep the app alive) */
+  private static ThreadFactory threads() {
+    var count = new AtomicInteger();
+    return r -> {
+      var thread = new Thread(r, "events-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,155 @@
+package savvy.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Times operations (e.g. every public Dao method) and keeps their statistics (see OperationStats):
+ * counts, errors, latency & result size histograms. An operation is named after its class & method
+ * (e.g. Dao.readAllFacts) and created on its first call. When given a JMX domain, each operation
+ * is also registered as an MXBean under it (e.g. savvy:type=Dao,name=readAllFacts).
+ */
+public final class Metrics {
+  public static final String DEFAULT_DOMAIN = "savvy";
+
+  private static Metrics defaultInstance;
+
+  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+  private final String _domain;
+  private final ConcurrentMap<String, OperationStats> _operations = new ConcurrentHashMap<>();
+
+  /** keeps the statistics without registering them over JMX */
+  public Metrics() {
+    this(null);
+  }
+
+  /** @param domain to register the operations under over JMX, null to not register them */
+  public Metrics(String domain) {
+    _domain = domain;
+  }
+
+  /** @return the shared instance (registered under the default JMX domain) */
+  public static synchronized Metrics getDefault() {
+    if (defaultInstance == null) {
+      defaultInstance = new Metrics(DEFAULT_DOMAIN);
+    }
+    return defaultInstance;
+  }
+
+  /** @param metrics to share */
+  public static synchronized void setDefault(Metrics metrics) {
+    defaultInstance = metrics;
+  }
+
+  /** a timed call with a result */
+  @FunctionalInterface
+  public interface Call<T, E extends Exception> {
+    T call() throws E;
+  }
+
+  /** a timed call without a result */
+  @FunctionalInterface
+  public interface Action<E extends Exception> {
+    void run() throws E;
+  }
+
+  /**
+   * runs & times a call
+   *
+   * @param name of the operation
+   * @param call to run
+   * @param size of its result (e.g. Set::size)
+   * @return the result of the call
+   * @throws E if the call throws (counted as an error)
+   */
+  public <T, E extends Exception> T time(String name, Call<T, E> call, ToLongFunction<T> size)
+      throws E {
+    var operation = operation(name);
+    var start = System.nanoTime();
+    try {
+      var result = call.call();
+      operation.succeeded(System.nanoTime() - start, size.applyAsLong(result));
+      return result;
+    } catch (Exception | Error e) {
+      operation.failed(System.nanoTime() - start);
+      throw e;
+    }
+  }
+
+  /**
+   * runs & times a call without a result
+   *
+   * @param name of the operation
+   * @param action to run
+   * @throws E if the action throws (counted as an error)
+   */
+  public <E extends Exception> void run(String name, Action<E> action) throws E {
+    time(
+        name,
+        () -> {
+          action.run();
+          return null;
+        },
+        nothing -> 0);
+  }
+
+  /**
+   * @param name of an operation
+   * @return its statistics (created & registered if it is new)
+   */
+  public OperationStats operation(String name) {
+    return _operations.computeIfAbsent(
+        name,
+        n -> {
+          var operation = new OperationStats(n);
+          register(operation);
+          return operation;
+        });
+  }
+
+  /** @return the statistics of every operation called so far, by name */
+  public List<OperationStats> operations() {
+    var operations = new ArrayList<>(_operations.values());
+    operations.sort(Comparator.comparing(OperationStats::getName));
+    return operations;
+  }
+
+  /** clears the statistics of every operation */
+  public void reset() {
+    _operations.values().forEach(OperationStats::reset);
+  }
+
+  /**
+   * registers an operation over JMX note: a failure is only logged, the statistics are still kept
+   *
+   * @param operation to register
+   */
+  private void register(OperationStats operation) {
+    if (_domain == null) {
+      return;
+    }
+
+    var name = operation.getName();
+    var dot = name.indexOf('.');
+    var type = dot < 0 ? "Operation" : name.substring(0, dot);
+    try {
+      var objectName =
+          new ObjectName(_domain + ":type=" + type + ",name=" + name.substring(dot + 1));
+      var server = ManagementFactory.getPlatformMBeanServer();
+      if (!server.isRegistered(objectName)) {
+        server.registerMBean(operation, objectName);
+      }
+    } catch (JMException e) {
+      log.warn("could not register {} over JMX: {}", name, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package savvy.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of one operation (e.g. a Dao method): how many calls were made & failed, how long
+ * they took and how large their results were (e.g. the number of facts read).
+ */
+public final class OperationStats implements OperationStatsMXBean {
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final String _name;
+
+  // replaced as a whole on reset
+  private volatile Histogram _latencies = new Histogram();
+  private volatile Histogram _sizes = new Histogram();
+  private volatile LongAdder _errors = new LongAdder();
+
+  /** @param name of the operation */
+  public OperationStats(String name) {
+    _name = name;
+  }
+
+  /**
+   * counts a call that returned
+   *
+   * @param nanos it took
+   * @param size of its result
+   */
+  public void succeeded(long nanos, long size) {
+    _latencies.record(nanos);
+    _sizes.record(size);
+  }
+
+  /**
+   * counts a call that threw
+   *
+   * @param nanos it took
+   */
+  public void failed(long nanos) {
+    _latencies.record(nanos);
+    _errors.increment();
+  }
+
+  @Override
+  public String getName() {
+    return _name;
+  }
+
+  @Override
+  public long getCount() {
+    return _latencies.count();
+  }
+
+  @Override
+  public long getErrors() {
+    return _errors.sum();
+  }
+
+  @Override
+  public double getMeanMillis() {
+    return _latencies.mean() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getP50Millis() {
+    return _latencies.percentile(0.50) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getP95Millis() {
+    return _latencies.percentile(0.95) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getP99Millis() {
+    return _latencies.percentile(0.99) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getMaxMillis() {
+    return _latencies.max() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getMeanSize() {
+    return _sizes.mean();
+  }
+
+  @Override
+  public long getP99Size() {
+    return _sizes.percentile(0.99);
+  }
+
+  @Override
+  public long getMaxSize() {
+    return _sizes.max();
+  }
+
+  @Override
+  public void reset() {
+    _latencies = new Histogram();
+    _sizes = new Histogram();
+    _errors = new LongAdder();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s -- count: %d, errors: %d, mean: %.2f ms, p99: %.2f ms, max: %.2f ms, mean size: %.1f",
+        _name,
+        getCount(),
+        getErrors(),
+        getMeanMillis(),
+        getP99Millis(),
+        getMaxMillis(),
+        getMeanSize());
+  }
+}
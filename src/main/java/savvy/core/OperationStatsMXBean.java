@@ -0,0 +1,28 @@
+package savvy.core;
+
+/** the statistics of an operation as seen over JMX (e.g. in jconsole under savvy) */
+public interface OperationStatsMXBean {
+  String getName();
+
+  long getCount();
+
+  long getErrors();
+
+  double getMeanMillis();
+
+  double getP50Millis();
+
+  double getP95Millis();
+
+  double getP99Millis();
+
+  double getMaxMillis();
+
+  double getMeanSize();
+
+  long getP99Size();
+
+  long getMaxSize();
+
+  void reset();
+}
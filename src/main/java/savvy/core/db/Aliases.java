@@ -0,0 +1,113 @@
+package savvy.core.db;
+
+import static savvy.core.db.Constants.ALIASES;
+import static savvy.core.db.Constants.ALIAS_LABEL;
+import static savvy.core.db.Constants.ENTITY_LABEL;
+import static savvy.core.db.Constants.NAME;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+
+/**
+ * Entity aliases are stored natively as a string array on the entity node. Each alias also has an
+ * Alias lookup node (indexed by name) pointing at the entity, so an identifier can be resolved to
+ * its entity with an index lookup.
+ */
+final class Aliases {
+  private static final String[] NONE = new String[0];
+
+  private Aliases() {}
+
+  /**
+   * reads the aliases of an entity node
+   *
+   * @param node entity to read
+   * @return its aliases
+   */
+  static Set<String> read(Node node) {
+    var value = node.getProperty(ALIASES, NONE);
+
+    // not migrated yet
+    if (value instanceof byte[]) {
+      return new SerDe<String>().toSet(value);
+    }
+    return new HashSet<>(Arrays.asList((String[]) value));
+  }
+
+  /**
+   * replaces the aliases of an entity node (and their lookup nodes)
+   *
+   * @param tx to write in
+   * @param node entity to write
+   * @param aliases to store
+   */
+  static void write(Transaction tx, Node node, Set<String> aliases) {
+    var previous = read(node);
+    node.setProperty(ALIASES, aliases.stream().sorted().toArray(String[]::new));
+
+    if (previous.equals(aliases)) {
+      // lookup nodes exist unless migrating from serialized aliases
+      if (node.hasRelationship(Direction.INCOMING, RelTypes.alias_of) || aliases.isEmpty()) {
+        return;
+      }
+      previous = Set.of();
+    }
+
+    // drop lookups for removed aliases
+    for (var rel : node.getRelationships(Direction.INCOMING, RelTypes.alias_of)) {
+      var lookup = rel.getStartNode();
+      if (!aliases.contains(lookup.getProperty(NAME).toString())) {
+        rel.delete();
+        lookup.delete();
+      }
+    }
+
+    // add lookups for new aliases
+    for (var alias : aliases) {
+      if (!previous.contains(alias)) {
+        var lookup = tx.createNode(ALIAS_LABEL);
+        lookup.setProperty(NAME, alias);
+        lookup.createRelationshipTo(node, RelTypes.alias_of);
+      }
+    }
+  }
+
+  /**
+   * removes the lookup nodes of an entity node (before it is deleted)
+   *
+   * @param node entity whose lookups to remove
+   */
+  static void delete(Node node) {
+    for (var rel : node.getRelationships(Direction.INCOMING, RelTypes.alias_of)) {
+      var lookup = rel.getStartNode();
+      rel.delete();
+      lookup.delete();
+    }
+  }
+
+  /**
+   * finds the entity node with a given name or alias
+   *
+   * @param tx to read in
+   * @param identifier name or alias of the entity
+   * @return the entity node or null if none has the identifier
+   */
+  static Node find(Transaction tx, String identifier) {
+    var node = tx.findNode(ENTITY_LABEL, NAME, identifier);
+    if (node != null) {
+      return node;
+    }
+
+    try (var lookups = tx.findNodes(ALIAS_LABEL, NAME, identifier)) {
+      if (lookups.hasNext()) {
+        var lookup = lookups.next();
+        return lookup.getSingleRelationship(RelTypes.alias_of, Direction.OUTGOING).getEndNode();
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,153 @@
+package savvy.core.db;
+
+import static savvy.core.db.Constants.CORRELATES;
+import static savvy.core.db.Constants.FACT_COUNT;
+import static savvy.core.db.Constants.FORMS;
+import static savvy.core.db.Constants.NAME;
+import static savvy.core.db.Constants.RELATIONSHIP_ID;
+import static savvy.core.db.Constants.RELATIONSHIP_LABEL;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import savvy.core.relationship.Correlate;
+import savvy.core.relationship.Relationship;
+
+/**
+ * Relationships are stored once, as catalog nodes holding their name and correlates. Fact
+ * relationships reference their catalog node by id, so renaming a relationship or editing its
+ * correlates is a single write. Each catalog node counts the facts referencing it and is removed
+ * along with the last of them. Its forms are also kept as text for full-text search.
+ */
+final class Catalog {
+  private Catalog() {}
+
+  /**
+   * finds the catalog node for a relationship (by name), creating it if needed note: an existing
+   * node keeps its correlates
+   *
+   * @param tx to write in
+   * @param relationship to find
+   * @return the catalog node
+   */
+  static Node findOrCreate(Transaction tx, Relationship relationship) {
+    var node = tx.findNode(RELATIONSHIP_LABEL, NAME, relationship.getName());
+    if (node == null) {
+      node = tx.createNode(RELATIONSHIP_LABEL);
+      node.setProperty(NAME, relationship.getName());
+      node.setProperty(CORRELATES, new SerDe<Correlate>().fromSet(relationship.getCorrelates()));
+      node.setProperty(FORMS, forms(relationship));
+      node.setProperty(FACT_COUNT, 0L);
+    }
+    return node;
+  }
+
+  /**
+   * references a catalog node from a fact relationship
+   *
+   * @param fact relationship
+   * @param node catalog node to reference
+   */
+  static void reference(org.neo4j.graphdb.Relationship fact, Node node) {
+    fact.setProperty(RELATIONSHIP_ID, node.getId());
+    node.setProperty(FACT_COUNT, count(node) + 1);
+  }
+
+  /**
+   * finds the catalog node referenced by a fact relationship
+   *
+   * @param tx to read in
+   * @param fact relationship
+   * @return the catalog node
+   */
+  static Node referenced(Transaction tx, org.neo4j.graphdb.Relationship fact) {
+    return tx.getNodeById((long) fact.getProperty(RELATIONSHIP_ID));
+  }
+
+  /**
+   * deletes a fact relationship, releasing its reference to its catalog node
+   *
+   * @param tx to write in
+   * @param fact relationship to delete
+   */
+  static void delete(Transaction tx, org.neo4j.graphdb.Relationship fact) {
+    var node = referenced(tx, fact);
+    FactKeys.remove(tx, fact);
+    fact.delete();
+
+    var count = count(node) - 1;
+    if (count <= 0) {
+      node.delete();
+    } else {
+      node.setProperty(FACT_COUNT, count);
+    }
+  }
+
+  /**
+   * updates a relationship's catalog node if it is renamed to the name of another relationship, its
+   * facts are moved over to that one
+   *
+   * @param tx to write in
+   * @param previous relationship version
+   * @param current relationship version
+   */
+  static void update(Transaction tx, Relationship previous, Relationship current) {
+    var node = tx.findNode(RELATIONSHIP_LABEL, NAME, previous.getName());
+    if (node == null) {
+      return;
+    }
+
+    var target = node;
+    if (!previous.getName().equals(current.getName())) {
+      var existing = tx.findNode(RELATIONSHIP_LABEL, NAME, current.getName());
+
+      // renamed onto another relationship -> merge into it (dropping facts that become duplicates)
+      if (existing != null) {
+        for (var fact : FactKeys.referencing(tx, node)) {
+          FactKeys.remove(tx, fact);
+          reference(fact, existing);
+          if (FactKeys.find(tx, FactKeys.of(fact)) != null) {
+            delete(tx, fact);
+          } else {
+            FactKeys.add(tx, fact);
+          }
+        }
+        node.delete();
+        target = existing;
+      }
+    }
+
+    target.setProperty(NAME, current.getName());
+    target.setProperty(CORRELATES, new SerDe<Correlate>().fromSet(current.getCorrelates()));
+    target.setProperty(FORMS, forms(current));
+  }
+
+  /**
+   * @param relationship to get the forms of
+   * @return its forms as full-text searchable text (one per line)
+   */
+  static String forms(Relationship relationship) {
+    return relationship.allForms().stream().sorted().collect(Collectors.joining("\n"));
+  }
+
+  /**
+   * @param node catalog node
+   * @return the number of facts referencing it
+   */
+  static long count(Node node) {
+    return (long) node.getProperty(FACT_COUNT, 0L);
+  }
+
+  /**
+   * reads a relationship from its catalog node
+   *
+   * @param node catalog node
+   * @return the corresponding Relationship
+   */
+  static Relationship read(Node node) {
+    var name = node.getProperty(NAME).toString();
+    Set<Correlate> correlates = new SerDe<Correlate>().toSet(node.getProperty(CORRELATES));
+    return new Relationship(name, correlates);
+  }
+}
@@ -0,0 +1,252 @@
+package savvy.core.db;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import savvy.core.fact.Modifier;
+import savvy.core.relationship.Correlate;
+
+/**
+ * Compact, versioned binary format for the values stored as properties (no class metadata,
+ * unlike Java serialization).
+ *
+ * <pre>
+ * header:        MAGIC, VERSION, tag
+ * empty set:     (nothing)
+ * string set:    count, string*
+ * correlate set: count, (outbound, inbound)*
+ * modifier:      flags, subject, relationship, object
+ * </pre>
+ *
+ * counts and string lengths are unsigned varints (at most 5 bytes), strings are UTF-8
+ */
+final class Codec {
+  // Java serialization streams begin with 0xAC, so both formats can be told apart
+  static final byte MAGIC = (byte) 0x53;
+  static final byte VERSION = 1;
+
+  // tags
+  static final byte EMPTY_SET = 0;
+  static final byte STRING_SET = 1;
+  static final byte CORRELATE_SET = 2;
+  static final byte MODIFIER = 3;
+
+  // modifier flags
+  private static final int OUTBOUND = 1;
+
+  private Codec() {}
+
+  /**
+   * @param bytes a stored value
+   * @return true if the value was written by this codec (rather than Java serialization)
+   */
+  static boolean isCompact(byte[] bytes) {
+    return bytes.length >= 3 && bytes[0] == MAGIC;
+  }
+
+  /**
+   * @param set to encode
+   * @return true if every member of the set can be encoded
+   */
+  static boolean canEncode(Set<?> set) {
+    return set.stream().allMatch(String.class::isInstance)
+        || set.stream().allMatch(Correlate.class::isInstance);
+  }
+
+  /**
+   * encodes a set of strings or correlates
+   *
+   * @param set to encode (see canEncode)
+   * @return the encoded set
+   */
+  static byte[] encodeSet(Set<?> set) {
+    if (set.isEmpty()) {
+      return new Writer(EMPTY_SET, 0).toBytes();
+    }
+
+    if (set.iterator().next() instanceof String) {
+      var w = new Writer(STRING_SET, set.size() * 16);
+      w.varint(set.size());
+      set.forEach(s -> w.string((String) s));
+      return w.toBytes();
+    }
+
+    var w = new Writer(CORRELATE_SET, set.size() * 32);
+    w.varint(set.size());
+    set.forEach(
+        o -> {
+          var c = (Correlate) o;
+          w.string(c.outbound);
+          w.string(c.inbound);
+        });
+    return w.toBytes();
+  }
+
+  /**
+   * encodes a modifier
+   *
+   * @param modifier to encode
+   * @return the encoded modifier
+   */
+  static byte[] encodeModifier(Modifier modifier) {
+    var w = new Writer(MODIFIER, 32);
+    w.varint(modifier.isOutbound ? OUTBOUND : 0);
+    w.string(modifier.subject);
+    w.string(modifier.relationship);
+    w.string(modifier.object);
+    return w.toBytes();
+  }
+
+  /**
+   * decodes a value written by this codec
+   *
+   * @param bytes to decode (see isCompact)
+   * @return a Set of String/Correlate or a Modifier
+   * @throws IOException if the bytes are not a well formed value of a known version
+   */
+  static Object decode(byte[] bytes) throws IOException {
+    var r = new Reader(bytes);
+    switch (r.tag) {
+      case EMPTY_SET:
+        return new HashSet<>();
+      case STRING_SET:
+        {
+          // each string takes at least its length byte
+          var n = r.count(1);
+          var set = new HashSet<String>(n * 2);
+          for (var i = 0; i < n; i++) {
+            set.add(r.string());
+          }
+          return set;
+        }
+      case CORRELATE_SET:
+        {
+          // each correlate takes at least its two length bytes
+          var n = r.count(2);
+          var set = new HashSet<Correlate>(n * 2);
+          for (var i = 0; i < n; i++) {
+            set.add(new Correlate(r.string(), r.string()));
+          }
+          return set;
+        }
+      case MODIFIER:
+        {
+          var flags = r.varint();
+          return new Modifier((flags & OUTBOUND) != 0, r.string(), r.string(), r.string());
+        }
+      default:
+        throw new IOException("unknown tag: " + r.tag);
+    }
+  }
+
+  /** appends to a growing byte array */
+  private static final class Writer {
+    private byte[] _buf;
+    private int _pos;
+
+    Writer(byte tag, int expected) {
+      _buf = new byte[3 + expected];
+      _buf[_pos++] = MAGIC;
+      _buf[_pos++] = VERSION;
+      _buf[_pos++] = tag;
+    }
+
+    void varint(int value) {
+      ensure(5);
+      while ((value & ~0x7F) != 0) {
+        _buf[_pos++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      _buf[_pos++] = (byte) value;
+    }
+
+    void string(String value) {
+      var utf8 = value.getBytes(StandardCharsets.UTF_8);
+      varint(utf8.length);
+      ensure(utf8.length);
+      System.arraycopy(utf8, 0, _buf, _pos, utf8.length);
+      _pos += utf8.length;
+    }
+
+    byte[] toBytes() {
+      return Arrays.copyOf(_buf, _pos);
+    }
+
+    private void ensure(int more) {
+      if (_pos + more > _buf.length) {
+        _buf = Arrays.copyOf(_buf, Math.max(_buf.length * 2, _pos + more));
+      }
+    }
+  }
+
+  /** reads from a byte array, starting after the header */
+  private static final class Reader {
+    private final byte[] _buf;
+    private int _pos;
+    final byte tag;
+
+    Reader(byte[] bytes) throws IOException {
+      if (!isCompact(bytes)) {
+        throw new IOException("not a compact value");
+      }
+      if (bytes[1] != VERSION) {
+        throw new IOException("unknown version: " + bytes[1]);
+      }
+      _buf = bytes;
+      _pos = 3;
+      tag = bytes[2];
+    }
+
+    /**
+     * @return an unsigned varint of at most 5 bytes (the 5th holding the top 4 bits)
+     * @throws IOException if the varint is truncated or does not fit in 32 bits
+     */
+    int varint() throws IOException {
+      var value = 0;
+      for (var shift = 0; shift < 35; shift += 7) {
+        if (_pos == _buf.length) {
+          throw new IOException("truncated varint at " + _pos + " of " + _buf.length + " bytes");
+        }
+        var b = _buf[_pos++];
+        if (shift == 28 && (b & 0xF0) != 0) {
+          throw new IOException("varint at " + (_pos - 5) + " exceeds 32 bits");
+        }
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IOException("varint at " + (_pos - 5) + " is longer than 5 bytes");
+    }
+
+    /**
+     * @param minSize of each counted item in bytes
+     * @return a count of items that can fit in the remaining bytes
+     * @throws IOException if they cannot
+     */
+    int count(int minSize) throws IOException {
+      var at = _pos;
+      var n = varint();
+      if (n < 0 || n > (_buf.length - _pos) / minSize) {
+        throw new IOException(
+            "count "
+                + Integer.toUnsignedString(n)
+                + " at "
+                + at
+                + " exceeds the "
+                + (_buf.length - _pos)
+                + " remaining bytes");
+      }
+      return n;
+    }
+
+    String string() throws IOException {
+      var length = count(1);
+      var value = new String(_buf, _pos, length, StandardCharsets.UTF_8);
+      _pos += length;
+      return value;
+    }
+  }
+}
@@ -10,14 +10,60 @@ public final class Constants {
 
   public static final Label ENTITY_LABEL = Label.label("Entity");
   public static final String ALIASES = "aliases";
+
+  // alias lookup nodes (one per alias of an entity, indexed by name)
+  public static final Label ALIAS_LABEL = Label.label("Alias");
+  public static final String ALIAS_INDEX = "aliases";
   public static final String CORRELATES = "correlates";
   public static final String MODIFIER = "modifier";
 
-  public static final String CYPHER_MERGE =
-      String.format("MERGE (n:%1$s {%2$s: $%2$s}) RETURN n;", ENTITY_LABEL, NAME);
+  // relationship catalog nodes (one per relationship, referenced by fact relationships)
+  public static final Label RELATIONSHIP_LABEL = Label.label("Relationship");
+  public static final String RELATIONSHIP_CONSTRAINT = "relationships";
+  public static final String RELATIONSHIP_ID = "relationshipId";
+  public static final String FACT_COUNT = "facts";
+
+  // fact identity keys (one per fact relationship)
+  public static final Label FACT_KEY_LABEL = Label.label("FactKey");
+  public static final String FACT_KEY_CONSTRAINT = "factKeys";
+  public static final String FACT_KEY = "key";
+  public static final String FACT_ID = "factId";
+  public static final String FACT_KEY_RELATIONSHIPS = "factKeyRelationships";
+
+  // full-text search (entity & alias names, relationship forms and fact modifiers)
+  public static final String SEARCH_INDEX = "search";
+  public static final String FACT_SEARCH_INDEX = "factSearch";
+  public static final String FORMS = "forms";
+  public static final String MODIFIERS = "modifiers";
+  public static final String QUERY = "query";
+
+  // store metadata (not an entity)
+  public static final Label META_LABEL = Label.label("Meta");
+  public static final String STORE_VERSION = "storeVersion";
 
   public static final String CYPHER_ALL_BETWEEN =
       String.format(
           "MATCH p=(start:%1$s {%2$s: $%3$s})-[r*]-(end:%1$s {%2$s: $%4$s}) RETURN p;",
           ENTITY_LABEL, NAME, NAME_A, NAME_B);
+
+  public static final String CYPHER_SEARCH_INDEX =
+      String.format(
+          "CALL db.index.fulltext.createNodeIndex('%s', ['%s', '%s', '%s'], ['%s', '%s']);",
+          SEARCH_INDEX, ENTITY_LABEL, ALIAS_LABEL, RELATIONSHIP_LABEL, NAME, FORMS);
+
+  public static final String CYPHER_FACT_SEARCH_INDEX =
+      String.format(
+          "CALL db.index.fulltext.createRelationshipIndex('%s', ['%s'], ['%s']);",
+          FACT_SEARCH_INDEX, RelTypes.f2_1, MODIFIERS);
+
+  public static final String CYPHER_SEARCH_NODES =
+      String.format(
+          "CALL db.index.fulltext.queryNodes('%s', $%s) YIELD node, score RETURN node, score;",
+          SEARCH_INDEX, QUERY);
+
+  public static final String CYPHER_SEARCH_FACTS =
+      String.format(
+          "CALL db.index.fulltext.queryRelationships('%s', $%s) "
+              + "YIELD relationship, score RETURN relationship, score;",
+          FACT_SEARCH_INDEX, QUERY);
 }
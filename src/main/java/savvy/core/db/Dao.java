@@ -1,39 +1,58 @@
 package savvy.core.db;
 
-import static savvy.core.db.Constants.ALIASES;
-import static savvy.core.db.Constants.CORRELATES;
 import static savvy.core.db.Constants.CYPHER_ALL_BETWEEN;
-import static savvy.core.db.Constants.CYPHER_MERGE;
 import static savvy.core.db.Constants.ENTITY_LABEL;
 import static savvy.core.db.Constants.MODIFIER;
+import static savvy.core.db.Constants.MODIFIERS;
 import static savvy.core.db.Constants.NAME;
 import static savvy.core.db.Constants.NAME_A;
 import static savvy.core.db.Constants.NAME_B;
+import static savvy.core.db.Constants.RELATIONSHIP_ID;
+import static savvy.core.db.Constants.RELATIONSHIP_LABEL;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
-import org.neo4j.graphdb.Direction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Path;
+import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.traversal.Evaluators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Metrics;
 import savvy.core.entity.Entity;
 import savvy.core.fact.Fact;
 import savvy.core.fact.Modifier;
-import savvy.core.relationship.Correlate;
 import savvy.core.relationship.Relationship;
 
-/** Database access object */
+/** Database access object note: every public call is timed (see Metrics) */
 public class Dao {
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
   private final GraphDatabaseService _service;
+  private final Metrics _metrics;
+
+  public static final int DEFAULT_BATCH_SIZE = 1_000;
 
   public Dao(EmbeddedNeo4j en4j) {
+    this(en4j, Metrics.getDefault());
+  }
+
+  /**
+   * @param en4j db to access
+   * @param metrics to time every public call with (as Dao.method)
+   */
+  public Dao(EmbeddedNeo4j en4j, Metrics metrics) {
     _service = en4j.getService();
+    _metrics = metrics;
   }
 
   // --- facts -----------------------------------------------------------------------------------\\
@@ -44,105 +63,258 @@ public class Dao {
    * @param subject of the fact
    * @param relationship between the subject and object
    * @param object of the fact
+   * @return false if the fact already existed (nothing is added)
    */
-  public void createFact(
+  public boolean createFact(
       Entity subject, Relationship relationship, Entity object, Modifier modifier) {
-    createEntity(subject);
-    createEntity(object);
+    return _metrics.time(
+        "Dao.createFact",
+        () -> {
+          var fact = new Fact(subject, relationship, object, modifier);
+          var created = writeFacts(List.of(fact), DEFAULT_BATCH_SIZE) > 0;
+          log.info(
+              "createFact -- s: {}, r: {}, o: {}, m: {}, created: {}",
+              subject,
+              relationship,
+              object,
+              modifier,
+              created);
+          return created;
+        },
+        created -> created ? 1 : 0);
+  }
 
-    try (var tx = _service.beginTx()) {
-      var subNode = tx.findNode(ENTITY_LABEL, NAME, subject.getName());
-      var objNode = tx.findNode(ENTITY_LABEL, NAME, object.getName());
+  /**
+   * add a fact to the database
+   *
+   * @param fact to add
+   * @return false if the fact already existed (nothing is added)
+   */
+  public boolean createFact(Fact fact) {
+    return createFact(fact.subject, fact.relationship, fact.object, fact.modifier);
+  }
 
-      var rel = subNode.createRelationshipTo(objNode, RelTypes.f2_1);
-      rel.setProperty(NAME, relationship.getName());
-      rel.setProperty(CORRELATES, new SerDe<Correlate>().fromSet(relationship.getCorrelates()));
-      rel.setProperty(MODIFIER, new SerDe<Modifier>().fromObject(modifier));
+  /**
+   * add many facts to the database, committing once per DEFAULT_BATCH_SIZE facts
+   *
+   * @param facts to add
+   * @return the number of facts added (duplicates are skipped)
+   */
+  public int createFacts(Collection<Fact> facts) {
+    return createFacts(facts, DEFAULT_BATCH_SIZE);
+  }
 
-      tx.commit();
-    }
-    log.info("createFact -- s: {}, r: {}, o: {}, m: {}", subject, relationship, object, modifier);
+  /**
+   * add many facts to the database, committing once per batch entities and relationships are
+   * looked up (or created) once per batch, no matter how many of its facts share them note: a
+   * fact that already exists (same subject, relationship, object and modifier) is skipped
+   *
+   * @param facts to add
+   * @param batchSize number of facts written per transaction
+   * @return the number of facts added
+   */
+  public int createFacts(Collection<Fact> facts, int batchSize) {
+    return _metrics.time("Dao.createFacts", () -> writeFacts(facts, batchSize), n -> n);
   }
 
   /**
-   * add a fact to the database
+   * add many facts to the database, committing once per batch (see createFacts)
    *
-   * @param fact to add
+   * @param facts to add
+   * @param batchSize number of facts written per transaction
+   * @return the number of facts added
    */
-  public void createFact(Fact fact) {
-    createFact(fact.subject, fact.relationship, fact.object, fact.modifier);
+  private int writeFacts(Collection<Fact> facts, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be at least 1");
+    }
+
+    var modifiers = new SerDe<Modifier>();
+    var pending = new ArrayList<>(facts);
+    var created = 0;
+    for (var from = 0; from < pending.size(); from += batchSize) {
+      var to = Math.min(from + batchSize, pending.size());
+
+      try (var tx = _service.beginTx()) {
+        // nodes are only valid within their transaction -> cache per batch
+        var entities = new HashMap<String, Node>();
+        var catalog = new HashMap<String, Node>();
+
+        for (var fact : pending.subList(from, to)) {
+          var subNode = entities.computeIfAbsent(fact.subject.getName(), n -> findOrCreate(tx, n));
+          var objNode = entities.computeIfAbsent(fact.object.getName(), n -> findOrCreate(tx, n));
+          Aliases.write(tx, subNode, fact.subject.getAliases());
+          Aliases.write(tx, objNode, fact.object.getAliases());
+
+          var relNode =
+              catalog.computeIfAbsent(
+                  fact.relationship.getName(), n -> Catalog.findOrCreate(tx, fact.relationship));
+
+          // already stored -> merge
+          var modifier = modifiers.fromObject(fact.modifier);
+          if (FactKeys.find(tx, FactKeys.of(subNode, relNode, objNode, modifier)) != null) {
+            continue;
+          }
+
+          var rel = subNode.createRelationshipTo(objNode, RelTypes.f2_1);
+          Catalog.reference(rel, relNode);
+          rel.setProperty(MODIFIER, modifier);
+          rel.setProperty(MODIFIERS, TextSearch.text(fact.modifier));
+          FactKeys.add(tx, rel);
+          created++;
+        }
+
+        tx.commit();
+      }
+      log.info("createFacts -- written: {} / {}", to, pending.size());
+    }
+    return created;
   }
 
   /**
    * remove a fact from the database note: if an entity has no remaining facts, it will be removed
    */
   public void deleteFact(Entity subject, Relationship relationship, Entity object) {
-    try (var tx = _service.beginTx()) {
-
-      // find & delete the relationship between subject and object
-      var subNode = tx.findNode(ENTITY_LABEL, NAME, subject.getName());
-      var objNode = tx.findNode(ENTITY_LABEL, NAME, object.getName());
-      subNode
-          .getRelationships(Direction.OUTGOING, RelTypes.f2_1)
-          .forEach(
-              rel -> {
-                if (rel.getEndNode().equals(objNode)
-                    && rel.getProperty(NAME).equals(relationship.getName())) {
-                  rel.delete();
-                }
-              });
+    _metrics.run(
+        "Dao.deleteFactByEntities",
+        () -> {
+          try (var tx = _service.beginTx()) {
+
+            // find (by key prefix) & delete the relationships between subject and object
+            var subNode = tx.findNode(ENTITY_LABEL, NAME, subject.getName());
+            var objNode = tx.findNode(ENTITY_LABEL, NAME, object.getName());
+            var catalog = tx.findNode(RELATIONSHIP_LABEL, NAME, relationship.getName());
+            if (subNode == null || objNode == null || catalog == null) {
+              return;
+            }
+
+            FactKeys.between(tx, subNode, catalog, objNode).forEach(rel -> Catalog.delete(tx, rel));
+            deleteIfUnused(subNode, objNode);
+
+            tx.commit();
+          }
+        });
+  }
 
-      // delete subject if now unused
-      if (!subNode.hasRelationship()) {
-        subNode.delete();
-      }
+  /**
+   * Delete a fact from the database (found by its identity key) note: if an entity has no
+   * remaining facts, it will be removed
+   *
+   * @param fact to delete
+   * @return false if the fact did not exist
+   */
+  public boolean deleteFact(Fact fact) {
+    return _metrics.time(
+        "Dao.deleteFact",
+        () -> {
+          try (var tx = _service.beginTx()) {
+            var rel = findFact(tx, fact);
+            if (rel == null) {
+              return false;
+            }
+
+            var subNode = rel.getStartNode();
+            var objNode = rel.getEndNode();
+            Catalog.delete(tx, rel);
+            deleteIfUnused(subNode, objNode);
+
+            tx.commit();
+          }
+          return true;
+        },
+        deleted -> deleted ? 1 : 0);
+  }
 
-      // delete object if now unused
-      if (!objNode.hasRelationship()) {
-        objNode.delete();
-      }
+  /**
+   * check whether a fact is stored
+   *
+   * @param fact to check
+   * @return true if the fact (same subject, relationship, object and modifier) exists
+   */
+  public boolean hasFact(Fact fact) {
+    return _metrics.time(
+        "Dao.hasFact",
+        () -> {
+          try (var tx = _service.beginTx()) {
+            return findFact(tx, fact) != null;
+          }
+        },
+        found -> found ? 1 : 0);
+  }
 
-      tx.commit();
+  /**
+   * finds the fact relationship of a fact by its identity key
+   *
+   * @param tx to read in
+   * @param fact to find
+   * @return the fact relationship or null if there is none
+   */
+  private org.neo4j.graphdb.Relationship findFact(Transaction tx, Fact fact) {
+    var subNode = tx.findNode(ENTITY_LABEL, NAME, fact.subject.getName());
+    var objNode = tx.findNode(ENTITY_LABEL, NAME, fact.object.getName());
+    var catalog = tx.findNode(RELATIONSHIP_LABEL, NAME, fact.relationship.getName());
+    if (subNode == null || objNode == null || catalog == null) {
+      return null;
     }
+
+    var modifier = new SerDe<Modifier>().fromObject(fact.modifier);
+    return FactKeys.find(tx, FactKeys.of(subNode, catalog, objNode, modifier));
   }
 
   /**
-   * Delete a fact from the database
+   * deletes the subject/object of a deleted fact if they have no remaining facts
    *
-   * @param fact to delete
+   * @param subNode subject node
+   * @param objNode object node
    */
-  public void deleteFact(Fact fact) {
-    deleteFact(fact.subject, fact.relationship, fact.object);
+  private void deleteIfUnused(Node subNode, Node objNode) {
+    if (!subNode.hasRelationship(RelTypes.f2_1)) {
+      Aliases.delete(subNode);
+      subNode.delete();
+    }
+
+    if (!subNode.equals(objNode) && !objNode.hasRelationship(RelTypes.f2_1)) {
+      Aliases.delete(objNode);
+      objNode.delete();
+    }
   }
 
   /**
-   * Traverse the graph collecting all relationships and entities that are connected to a given
-   * entity and return a fact for each
+   * Read the facts within the default number of hops of a given entity (the whole neighbourhood,
+   * not only a page)
    *
    * @param entityName to lookup
-   * @return a set of Facts corresponding to the relationships found in the traversal
+   * @return a set of Facts around the entity
    */
   public Set<Fact> readRelatedFacts(String entityName) {
+    var options =
+        new NeighbourhoodOptions(NeighbourhoodOptions.DEFAULT_DEPTH, Integer.MAX_VALUE);
+    return new TreeSet<>(readRelatedFacts(entityName, options, null).facts);
+  }
 
-    var set = new TreeSet<Fact>();
-    try (var tx = _service.beginTx()) {
-      var found = tx.findNodes(ENTITY_LABEL, NAME, entityName).stream().findFirst();
-      if (found.isEmpty()) {
-        return Set.of();
-      }
-      var paths =
-          tx.traversalDescription()
-              .depthFirst()
-              .relationships(RelTypes.f2_1)
-              .evaluator(Evaluators.excludeStartPosition())
-              .traverse(found.get());
-
-      for (var path : paths) {
-        set.add(pathAsFact(path));
-      }
-
-      return set;
-    }
+  /**
+   * Read a page of the facts around a given entity, nearest facts first
+   *
+   * @param entityName to lookup
+   * @param options depth of the neighbourhood and size of the page
+   * @param cursor where the previous page ended, null for the first page
+   * @return a page of Facts and where the next page starts
+   */
+  public FactsPage readRelatedFacts(
+      String entityName, NeighbourhoodOptions options, PageCursor cursor) {
+    return _metrics.time(
+        "Dao.readRelatedFacts",
+        () -> {
+          try (var tx = _service.beginTx()) {
+            var found = tx.findNode(ENTITY_LABEL, NAME, entityName);
+            if (found == null) {
+              return new FactsPage(List.of(), null);
+            }
+
+            return new NeighbourhoodSearch(options).page(found, cursor, new FactScan(tx));
+          }
+        },
+        page -> page.facts.size());
   }
 
   /**
@@ -150,15 +322,16 @@ public class Dao {
    * E2, E2 -R2-> E3
    *
    * @param path to convert
+   * @param scan to convert the path's relationships with
    * @return a set of corresponding Facts
    */
-  private Set<Fact> compoundPathToFacts(Path path) {
+  private Set<Fact> compoundPathToFacts(Path path, FactScan scan) {
     var set = new HashSet<Fact>();
 
     path.relationships()
         .forEach(
             rel -> {
-              var fact = factFromRelationship(rel);
+              var fact = scan.toFact(rel);
               set.add(fact);
             });
 
@@ -166,44 +339,93 @@ public class Dao {
   }
 
   /**
-   * Neo4j uses relationships as part of a path those relationships reference everything we need to
-   * make a Fact
+   * Read a page of the facts matching a full-text search of entity names & aliases, relationship
+   * forms and fact modifiers, best match first
    *
-   * @param relationship a Neo4j Relationship to convert
-   * @return a Fact
+   * @param text to search for (plain text, any word may match)
+   * @param pageSize most facts to read at once
+   * @param cursor where the previous page ended, null for the first page
+   * @return a page of Facts and where the next page starts
    */
-  private Fact factFromRelationship(org.neo4j.graphdb.Relationship relationship) {
-    var rel = relationship;
-    var serde = new SerDe<String>();
-    var r = rel.getProperty(NAME).toString();
-    var rc = new SerDe<Correlate>().toSet(rel.getProperty(CORRELATES));
-    var rm = new SerDe<Modifier>().toType(rel.getProperty(MODIFIER));
-
-    var s = rel.getStartNode().getProperty(NAME).toString();
-    var sa = serde.toSet(rel.getStartNode().getProperty(ALIASES));
+  public FactsPage searchFacts(String text, int pageSize, PageCursor cursor) {
+    return _metrics.time(
+        "Dao.searchFacts",
+        () -> {
+          try (var tx = _service.beginTx()) {
+            return new TextSearch(pageSize).page(tx, text, cursor, new FactScan(tx));
+          }
+        },
+        page -> page.facts.size());
+  }
 
-    var o = rel.getEndNode().getProperty(NAME).toString();
-    var oa = serde.toSet(rel.getEndNode().getProperty(ALIASES));
+  /**
+   * search the graph for the paths between two entities (bounded by the default PathOptions) for
+   * each path found between them, derive a set of facts
+   *
+   * @param fromEntityName start point (arbitrary, since direction is ignored)
+   * @param toEntityName end point
+   * @return a corresponding set of Facts
+   */
+  public Set<Fact> readFactsBetween(String fromEntityName, String toEntityName) {
+    return readFactsBetween(fromEntityName, toEntityName, PathOptions.DEFAULT);
+  }
 
-    return new Fact(new Entity(s, sa), new Relationship(r, rc), new Entity(o, oa), rm);
+  /**
+   * search the graph for the paths between two entities for each path found between them, derive
+   * a set of facts
+   *
+   * @param fromEntityName start point (arbitrary, since direction is ignored)
+   * @param toEntityName end point
+   * @param options bounds for the search
+   * @return a corresponding set of Facts
+   */
+  public Set<Fact> readFactsBetween(
+      String fromEntityName, String toEntityName, PathOptions options) {
+    return _metrics.time(
+        "Dao.readFactsBetween",
+        () -> {
+          if (options.unbounded) {
+            return readAllFactsBetween(fromEntityName, toEntityName);
+          }
+
+          try (var tx = _service.beginTx()) {
+            log.info("read facts between -- {}", options);
+            var from = tx.findNode(ENTITY_LABEL, NAME, fromEntityName);
+            var to = tx.findNode(ENTITY_LABEL, NAME, toEntityName);
+            if (from == null || to == null) {
+              return Set.of();
+            }
+
+            var set = new TreeSet<Fact>();
+            var scan = new FactScan(tx);
+            var paths = new PathSearch(options).paths(from, to);
+            paths.forEach(path -> path.forEach(rel -> set.add(scan.toFact(rel))));
+
+            log.info("paths: {}", paths.size());
+            return set;
+          }
+        },
+        Set::size);
   }
 
   /**
    * traverse the graph and gather every path between two entities for each compound path found
-   * between them, derive a set of facts
+   * between them, derive a set of facts note: this is unbounded and can take exponential time on
+   * densely connected entities
    *
    * @param fromEntityName start point (arbitrary, since direction is ignored)
    * @param toEntityName end point
    * @return a corresponding set of Facts
    */
-  public Set<Fact> readFactsBetween(String fromEntityName, String toEntityName) {
+  private Set<Fact> readAllFactsBetween(String fromEntityName, String toEntityName) {
     try (var tx = _service.beginTx()) {
-      log.info("read facts between");
+      log.info("read all facts between");
       var params = new HashMap<String, Object>();
       params.put(NAME_A, fromEntityName);
       params.put(NAME_B, toEntityName);
 
       var set = new TreeSet<Fact>();
+      var scan = new FactScan(tx);
       var result = tx.execute(CYPHER_ALL_BETWEEN, params);
 
       result.forEachRemaining(
@@ -214,7 +436,7 @@ public class Dao {
                   Path path = (Path) p.getValue();
 
                   log.info("path: {}", path);
-                  set.addAll(compoundPathToFacts(path));
+                  set.addAll(compoundPathToFacts(path, scan));
                 });
           });
 
@@ -223,11 +445,53 @@ public class Dao {
   }
 
   /**
-   * Traverse the graph collecting relationships for all entities
+   * Scan the database visiting each fact relationship once
    *
-   * @return returns a set of Facts corresponding to the relationships
+   * @return returns a sorted set of Facts corresponding to the relationships
    */
   public Set<Fact> readAllFacts() {
+    return _metrics.time(
+        "Dao.readAllFacts",
+        () -> {
+          try (var tx = _service.beginTx()) {
+            return new FactScan(tx).facts().collect(Collectors.toCollection(TreeSet::new));
+          }
+        },
+        Set::size);
+  }
+
+  /**
+   * Scan the database visiting each fact relationship once, without holding on to the facts
+   *
+   * @param action receives each fact (unordered)
+   */
+  public void scanFacts(Consumer<Fact> action) {
+    _metrics.time(
+        "Dao.scanFacts",
+        () -> {
+          try (var tx = _service.beginTx()) {
+            var scan = new FactScan(tx);
+            var scanned = new long[] {0};
+            scan.edges()
+                .forEach(
+                    rel -> {
+                      action.accept(scan.toFact(rel));
+                      scanned[0]++;
+                    });
+            return scanned[0];
+          }
+        },
+        scanned -> scanned);
+  }
+
+  /**
+   * Traverse the graph from every entity collecting the relationships reachable from it note: this
+   * rebuilds each fact once per entity that can reach it, it is only kept as a baseline for
+   * benchmarking readAllFacts
+   *
+   * @return returns a set of Facts corresponding to the relationships
+   */
+  Set<Fact> readAllFactsByTraversal() {
     var set = new TreeSet<Fact>();
 
     try (var tx = _service.beginTx()) {
@@ -242,24 +506,14 @@ public class Dao {
                         .traverse(n);
 
                 for (var path : paths) {
-                  set.add(pathAsFact(path));
+                  // a fresh scan per path -> no hydration reuse, as before
+                  set.add(new FactScan(tx).toFact(path.lastRelationship()));
                 }
               });
     }
     return set;
   }
 
-  /**
-   * For a given path, gather its subject, relationship and object and create a fact from it
-   *
-   * @param path containing the relationship
-   * @return a corresponding Fact
-   */
-  private Fact pathAsFact(Path path) {
-    var rel = path.lastRelationship();
-    return factFromRelationship(rel);
-  }
-
   // --- entities --------------------------------------------------------------------------------\\
 
   /**
@@ -269,14 +523,30 @@ public class Dao {
    * @param entity to create
    */
   public void createEntity(Entity entity) {
-    try (var tx = _service.beginTx()) {
-      var params = new HashMap<String, Object>();
-      params.put(NAME, entity.getName());
-      Node result = tx.execute(CYPHER_MERGE, params).<Node>columnAs("n").next();
-      result.setProperty(ALIASES, new SerDe<String>().fromSet(entity.getAliases()));
-      tx.commit();
-      // return result;
+    _metrics.run(
+        "Dao.createEntity",
+        () -> {
+          try (var tx = _service.beginTx()) {
+            Aliases.write(tx, findOrCreate(tx, entity.getName()), entity.getAliases());
+            tx.commit();
+          }
+        });
+  }
+
+  /**
+   * finds an entity node by name, creating it if needed
+   *
+   * @param tx to write in
+   * @param name of the entity
+   * @return the entity node
+   */
+  private Node findOrCreate(Transaction tx, String name) {
+    var node = tx.findNode(ENTITY_LABEL, NAME, name);
+    if (node == null) {
+      node = tx.createNode(ENTITY_LABEL);
+      node.setProperty(NAME, name);
     }
+    return node;
   }
 
   /**
@@ -286,25 +556,74 @@ public class Dao {
    * @param current entity version
    */
   public void updateEntity(Entity previous, Entity current) {
+    _metrics.run(
+        "Dao.updateEntity",
+        () -> {
+
+          // same authoritative name -> merge them otherwise rename
+          if (previous.getName().equals(current.getName())) {
+            try (var tx = _service.beginTx()) {
+              var entity = tx.findNode(ENTITY_LABEL, NAME, previous.getName());
+
+              Aliases.write(tx, entity, current.getAliases());
+
+              tx.commit();
+            }
+          } else {
+            try (var tx = _service.beginTx()) {
+              var pNode = tx.findNode(ENTITY_LABEL, NAME, previous.getName());
+              pNode.setProperty(NAME, current.getName());
+              Aliases.write(tx, pNode, current.getAliases());
+
+              tx.commit();
+            }
+          }
+        });
+  }
 
-    // same authoritative name -> merge them otherwise rename
-    if (previous.getName().equals(current.getName())) {
-      try (var tx = _service.beginTx()) {
-        var entity = tx.findNode(ENTITY_LABEL, NAME, previous.getName());
-
-        entity.setProperty(ALIASES, new SerDe<String>().fromSet(current.getAliases()));
-
-        tx.commit();
-      }
-    } else {
-      try (var tx = _service.beginTx()) {
-        var pNode = tx.findNode(ENTITY_LABEL, NAME, previous.getName());
-        pNode.setProperty(NAME, current.getName());
-        pNode.setProperty(ALIASES, new SerDe<String>().fromSet(current.getAliases()));
+  /**
+   * Finds an entity by its name or any of its aliases (through the index, no entities are loaded)
+   *
+   * @param identifier name or alias of the entity
+   * @return the entity if one has the identifier
+   */
+  public Optional<Entity> readEntity(String identifier) {
+    return _metrics.time(
+        "Dao.readEntity",
+        () -> {
+          try (var tx = _service.beginTx()) {
+            var node = Aliases.find(tx, identifier);
+            if (node == null) {
+              return Optional.empty();
+            }
+            return Optional.of(new Entity(node.getProperty(NAME).toString(), Aliases.read(node)));
+          }
+        },
+        entity -> entity.isPresent() ? 1 : 0);
+  }
 
-        tx.commit();
-      }
-    }
+  /**
+   * Finds entities by their names (not aliases)
+   *
+   * @param names of the entities
+   * @return the entities that exist
+   */
+  public Set<Entity> readEntities(Collection<String> names) {
+    return _metrics.time(
+        "Dao.readEntities",
+        () -> {
+          var entities = new HashSet<Entity>();
+          try (var tx = _service.beginTx()) {
+            for (var name : names) {
+              var node = tx.findNode(ENTITY_LABEL, NAME, name);
+              if (node != null) {
+                entities.add(new Entity(name, Aliases.read(node)));
+              }
+            }
+          }
+          return entities;
+        },
+        Set::size);
   }
 
   /**
@@ -313,19 +632,24 @@ public class Dao {
    * @return the entities
    */
   public Set<Entity> readAllEntities() {
-    var entities = new TreeSet<Entity>();
-    try (var tx = _service.beginTx()) {
-      tx.findNodes(ENTITY_LABEL).stream()
-          .forEach(
-              n -> {
-                var name = n.getProperty(NAME).toString();
-                var aliases = new SerDe<String>().toSet((byte[]) n.getProperty(ALIASES));
-                entities.add(new Entity(name, aliases));
-                // log.info("reading -- name: {}, aliases: {}", name, aliases);
-              });
-    }
-
-    return entities;
+    return _metrics.time(
+        "Dao.readAllEntities",
+        () -> {
+          var entities = new TreeSet<Entity>();
+          try (var tx = _service.beginTx()) {
+            tx.findNodes(ENTITY_LABEL).stream()
+                .forEach(
+                    n -> {
+                      var name = n.getProperty(NAME).toString();
+                      var aliases = Aliases.read(n);
+                      entities.add(new Entity(name, aliases));
+                      // log.info("reading -- name: {}, aliases: {}", name, aliases);
+                    });
+          }
+
+          return entities;
+        },
+        Set::size);
   }
 
   // --- relationships ---------------------------------------------------------------------------\\
@@ -336,11 +660,36 @@ public class Dao {
    * @return the relationships
    */
   public Set<Relationship> readAllRelationships() {
-    var relationships = new HashSet<Relationship>();
-    readAllFacts().forEach(f -> relationships.add(f.relationship));
-    //    log.info("relationships: {}", relationships);
+    return _metrics.time(
+        "Dao.readAllRelationships",
+        () -> {
+          var relationships = new HashSet<Relationship>();
+          try (var tx = _service.beginTx()) {
+            tx.findNodes(RELATIONSHIP_LABEL).stream()
+                .forEach(n -> relationships.add(Catalog.read(n)));
+          }
+          return relationships;
+        },
+        Set::size);
+  }
 
-    return relationships;
+  /**
+   * Gathers every relationship along with the number of facts using it
+   *
+   * @return fact counts by relationship
+   */
+  public Map<Relationship, Long> readRelationshipCounts() {
+    return _metrics.time(
+        "Dao.readRelationshipCounts",
+        () -> {
+          var counts = new HashMap<Relationship, Long>();
+          try (var tx = _service.beginTx()) {
+            tx.findNodes(RELATIONSHIP_LABEL).stream()
+                .forEach(n -> counts.put(Catalog.read(n), Catalog.count(n)));
+          }
+          return counts;
+        },
+        Map::size);
   }
 
   /**
@@ -350,37 +699,13 @@ public class Dao {
    * @param current relationship version
    */
   public void updateRelationship(Relationship previous, Relationship current) {
-
-    try (var tx = _service.beginTx()) {
-      // all facts
-      tx.findNodes(ENTITY_LABEL).stream()
-          .forEach(
-              n -> {
-                var paths =
-                    tx.traversalDescription()
-                        .depthFirst()
-                        .relationships(RelTypes.f2_1)
-                        .evaluator(Evaluators.excludeStartPosition())
-                        .traverse(n);
-
-                for (var path : paths) {
-                  var rel = path.lastRelationship();
-                  var rName = rel.getProperty(NAME).toString();
-
-                  // if matching relationship
-                  if (rName.equals(previous.getName())) {
-                    if (!previous.getName().equals(current.getName())) {
-                      rel.setProperty(NAME, current.getName());
-                    }
-                    if (!previous.getCorrelates().equals(current.getCorrelates())) {
-                      rel.setProperty(
-                          CORRELATES, new SerDe<Correlate>().fromSet(current.getCorrelates()));
-                    }
-                  }
-                }
-              });
-
-      tx.commit();
-    }
+    _metrics.run(
+        "Dao.updateRelationship",
+        () -> {
+          try (var tx = _service.beginTx()) {
+            Catalog.update(tx, previous, current);
+            tx.commit();
+          }
+        });
   }
 }
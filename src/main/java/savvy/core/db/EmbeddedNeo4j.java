@@ -12,21 +12,35 @@ import org.neo4j.graphdb.schema.IndexDefinition;
 import org.neo4j.io.fs.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Metrics;
 
 /** Embeds a Neo4j instance and exposes some basic functionality */
 public class EmbeddedNeo4j {
 
-  private static final File databaseDirectory = new File(DB_DIR);
-
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+  private final File _directory;
 
   private GraphDatabaseService _db;
   private DatabaseManagementService _dbms;
   private IndexDefinition _index;
 
+  /** creates an instance backed by the default database directory */
+  public EmbeddedNeo4j() {
+    this(new File(DB_DIR));
+  }
+
+  /**
+   * creates an instance backed by a given database directory
+   *
+   * @param directory to store the database in
+   */
+  public EmbeddedNeo4j(File directory) {
+    _directory = directory;
+  }
+
   // === DB management ===========================================================================\\
   private static void registerShutdownHook(
-      final DatabaseManagementService managementService, boolean persist) {
+      final DatabaseManagementService managementService, final File directory, boolean persist) {
 
     // registers shutdown hook for Neo4j
     // -> shuts down nicely on JVM exit (even for Ctrl-C)
@@ -36,7 +50,7 @@ public class EmbeddedNeo4j {
                 () -> {
                   if (!persist) {
                     try {
-                      FileUtils.deleteRecursively(databaseDirectory);
+                      FileUtils.deleteRecursively(directory);
                     } catch (IOException e) {
                       e.printStackTrace();
                     }
@@ -52,21 +66,32 @@ public class EmbeddedNeo4j {
    * @throws IOException when the database isn't found (shouldn't happen)
    */
   public void createDb(boolean persistent) throws IOException {
-    if (!persistent) {
-      FileUtils.deleteRecursively(databaseDirectory);
-    }
-    _dbms = new DatabaseManagementServiceBuilder(databaseDirectory).build();
-    _db = _dbms.database(DEFAULT_DATABASE_NAME);
-
-    // create constraint & index
-    createConstraint();
-
-    registerShutdownHook(_dbms, persistent);
+    Metrics.getDefault()
+        .run(
+            "EmbeddedNeo4j.createDb",
+            () -> {
+              if (!persistent) {
+                FileUtils.deleteRecursively(_directory);
+              }
+              _dbms = new DatabaseManagementServiceBuilder(_directory).build();
+              _db = _dbms.database(DEFAULT_DATABASE_NAME);
+
+              // create constraint & index
+              createConstraint();
+
+              // upgrade stores written by older versions
+              new StoreMigration(this).run();
+
+              registerShutdownHook(_dbms, _directory, persistent);
+            });
   }
 
   /**
    * create constraint for unique entities (by name) create index for lookup/edit of entities in db
-   * (neo4j automatically creates the index with the constraint)
+   * (neo4j automatically creates the index with the constraint) create index for lookup of
+   * entities by alias create constraint for unique relationship catalog nodes (by name) create
+   * constraint for unique fact keys create index for lookup of fact keys by relationship create
+   * full-text indexes for searching facts
    */
   public void createConstraint() {
 
@@ -88,6 +113,91 @@ public class EmbeddedNeo4j {
         tx.commit();
       }
     }
+
+    // create alias index if needed
+    try (var tx = _db.beginTx()) {
+      tx.schema().getIndexByName(ALIAS_INDEX);
+
+    } catch (IllegalArgumentException e) {
+      try (var tx = _db.beginTx()) {
+        tx.schema().indexFor(ALIAS_LABEL).on(NAME).withName(ALIAS_INDEX).create();
+
+        tx.commit();
+      }
+    }
+
+    // create relationship catalog constraint if needed
+    try (var tx = _db.beginTx()) {
+      tx.schema().getConstraintByName(RELATIONSHIP_CONSTRAINT);
+
+    } catch (IllegalArgumentException e) {
+      try (var tx = _db.beginTx()) {
+        // relationship (names) must be unique
+        tx.schema()
+            .constraintFor(RELATIONSHIP_LABEL)
+            .assertPropertyIsUnique(NAME)
+            .withName(RELATIONSHIP_CONSTRAINT)
+            .create();
+
+        tx.commit();
+      }
+    }
+
+    // create fact key constraint if needed
+    try (var tx = _db.beginTx()) {
+      tx.schema().getConstraintByName(FACT_KEY_CONSTRAINT);
+
+    } catch (IllegalArgumentException e) {
+      try (var tx = _db.beginTx()) {
+        // fact (keys) must be unique
+        tx.schema()
+            .constraintFor(FACT_KEY_LABEL)
+            .assertPropertyIsUnique(FACT_KEY)
+            .withName(FACT_KEY_CONSTRAINT)
+            .create();
+
+        tx.commit();
+      }
+    }
+
+    // create fact key relationship index if needed
+    try (var tx = _db.beginTx()) {
+      tx.schema().getIndexByName(FACT_KEY_RELATIONSHIPS);
+
+    } catch (IllegalArgumentException e) {
+      try (var tx = _db.beginTx()) {
+        tx.schema()
+            .indexFor(FACT_KEY_LABEL)
+            .on(RELATIONSHIP_ID)
+            .withName(FACT_KEY_RELATIONSHIPS)
+            .create();
+
+        tx.commit();
+      }
+    }
+
+    // create full-text indexes if needed (only available through procedures)
+    try (var tx = _db.beginTx()) {
+      tx.schema().getIndexByName(SEARCH_INDEX);
+
+    } catch (IllegalArgumentException e) {
+      try (var tx = _db.beginTx()) {
+        tx.execute(CYPHER_SEARCH_INDEX).close();
+
+        tx.commit();
+      }
+    }
+
+    try (var tx = _db.beginTx()) {
+      tx.schema().getIndexByName(FACT_SEARCH_INDEX);
+
+    } catch (IllegalArgumentException e) {
+      try (var tx = _db.beginTx()) {
+        tx.execute(CYPHER_FACT_SEARCH_INDEX).close();
+
+        tx.commit();
+      }
+    }
   }
 
   /**
@@ -104,7 +214,7 @@ public class EmbeddedNeo4j {
   /** manually shutdown the database (usually we rely on the shutdown hook) */
   public void shutDown() {
     System.out.println("Shutting down database ...");
-    _dbms.shutdown();
+    Metrics.getDefault().run("EmbeddedNeo4j.shutDown", _dbms::shutdown);
   }
 
   /** @return the database service */
@@ -0,0 +1,152 @@
+package savvy.core.db;
+
+import static savvy.core.db.Constants.FACT_ID;
+import static savvy.core.db.Constants.FACT_KEY;
+import static savvy.core.db.Constants.FACT_KEY_LABEL;
+import static savvy.core.db.Constants.MODIFIER;
+import static savvy.core.db.Constants.RELATIONSHIP_ID;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.StringSearchMode;
+import org.neo4j.graphdb.Transaction;
+
+/**
+ * Every fact relationship has an identity key made of its subject, relationship, object and
+ * modifier. Neo4j can not index relationship properties, so each key is kept on a FactKey node
+ * (unique, so indexed) holding the id of its fact relationship. This makes finding a fact (to
+ * delete it or to detect a duplicate) a single index lookup rather than a walk over the subject's
+ * relationships.
+ *
+ * <p>keys are built from node ids (not names) so renaming an entity or relationship leaves them
+ * unchanged
+ *
+ * <p>key nodes also hold the id of their fact's relationship catalog node (indexed), so the facts
+ * of a relationship are found without scanning every fact
+ */
+final class FactKeys {
+  private FactKeys() {}
+
+  /**
+   * builds the identity key of a fact
+   *
+   * @param subject entity node
+   * @param catalog relationship catalog node
+   * @param object entity node
+   * @param modifier as stored
+   * @return the key
+   */
+  static String of(Node subject, Node catalog, Node object, byte[] modifier) {
+    return of(subject.getId(), catalog.getId(), object.getId(), modifier);
+  }
+
+  /**
+   * builds the identity key of an existing fact relationship
+   *
+   * @param fact relationship
+   * @return the key
+   */
+  static String of(Relationship fact) {
+    return of(
+        fact.getStartNode().getId(),
+        (long) fact.getProperty(RELATIONSHIP_ID),
+        fact.getEndNode().getId(),
+        (byte[]) fact.getProperty(MODIFIER));
+  }
+
+  private static String of(long subject, long catalog, long object, byte[] modifier) {
+    return prefix(subject, catalog, object) + Base64.getEncoder().encodeToString(modifier);
+  }
+
+  /** @return the start shared by the keys of every modifier of a subject, relationship & object */
+  private static String prefix(long subject, long catalog, long object) {
+    return subject + ":" + catalog + ":" + object + ":";
+  }
+
+  /**
+   * finds a fact relationship by its key
+   *
+   * @param tx to read in
+   * @param key of the fact
+   * @return the fact relationship or null if there is none
+   */
+  static Relationship find(Transaction tx, String key) {
+    var node = tx.findNode(FACT_KEY_LABEL, FACT_KEY, key);
+    return node == null ? null : tx.getRelationshipById((long) node.getProperty(FACT_ID));
+  }
+
+  /**
+   * finds the fact relationships between a subject and an object, whatever their modifier (a
+   * prefix lookup on the keys)
+   *
+   * @param tx to read in
+   * @param subject entity node
+   * @param catalog relationship catalog node
+   * @param object entity node
+   * @return the fact relationships
+   */
+  static List<Relationship> between(Transaction tx, Node subject, Node catalog, Node object) {
+    var facts = new ArrayList<Relationship>();
+    var prefix = prefix(subject.getId(), catalog.getId(), object.getId());
+    try (var nodes = tx.findNodes(FACT_KEY_LABEL, FACT_KEY, prefix, StringSearchMode.PREFIX)) {
+      while (nodes.hasNext()) {
+        facts.add(tx.getRelationshipById((long) nodes.next().getProperty(FACT_ID)));
+      }
+    }
+    return facts;
+  }
+
+  /**
+   * finds the fact relationships referencing a relationship catalog node
+   *
+   * @param tx to read in
+   * @param catalog relationship catalog node
+   * @return the fact relationships
+   */
+  static List<Relationship> referencing(Transaction tx, Node catalog) {
+    var facts = new ArrayList<Relationship>();
+    try (var nodes = tx.findNodes(FACT_KEY_LABEL, RELATIONSHIP_ID, catalog.getId())) {
+      while (nodes.hasNext()) {
+        facts.add(tx.getRelationshipById((long) nodes.next().getProperty(FACT_ID)));
+      }
+    }
+    return facts;
+  }
+
+  /**
+   * records the key of a new fact relationship
+   *
+   * @param tx to write in
+   * @param fact relationship (with its catalog reference and modifier set)
+   */
+  static void add(Transaction tx, Relationship fact) {
+    var key = of(fact);
+    var node = tx.createNode(FACT_KEY_LABEL);
+    node.setProperty(FACT_KEY, key);
+    node.setProperty(FACT_ID, fact.getId());
+    node.setProperty(RELATIONSHIP_ID, fact.getProperty(RELATIONSHIP_ID));
+    fact.setProperty(FACT_KEY, key);
+  }
+
+  /**
+   * removes the key of a fact relationship (before it is deleted or re-keyed)
+   *
+   * @param tx to write in
+   * @param fact relationship
+   */
+  static void remove(Transaction tx, Relationship fact) {
+    var key = fact.getProperty(FACT_KEY, null);
+    if (key == null) {
+      return;
+    }
+
+    var node = tx.findNode(FACT_KEY_LABEL, FACT_KEY, key);
+    if (node != null && (long) node.getProperty(FACT_ID) == fact.getId()) {
+      node.delete();
+    }
+    fact.removeProperty(FACT_KEY);
+  }
+}
@@ -0,0 +1,88 @@
+package savvy.core.db;
+
+import static savvy.core.db.Constants.MODIFIER;
+import static savvy.core.db.Constants.NAME;
+import static savvy.core.db.Constants.RELATIONSHIP_ID;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import savvy.core.entity.Entity;
+import savvy.core.fact.Fact;
+import savvy.core.fact.Modifier;
+import savvy.core.relationship.Relationship;
+
+/**
+ * Scans fact relationships within a single transaction. Every fact relationship in the store is
+ * visited exactly once, and entities/relationships are only deserialized the first time they are
+ * seen during the scan (many facts share the same subject, object or relationship).
+ *
+ * <p>note: streams returned from a scan are only valid while its transaction is open
+ */
+final class FactScan {
+  private final Transaction _tx;
+  private final SerDe<Modifier> _modifiers = new SerDe<>();
+
+  // hydrated entities by node id
+  private final Map<Long, Entity> _entities = new HashMap<>();
+
+  // hydrated relationships by catalog node id
+  private final Map<Long, Relationship> _relationships = new HashMap<>();
+
+  FactScan(Transaction tx) {
+    _tx = tx;
+  }
+
+  /** @return every fact relationship in the database, each one exactly once (unordered) */
+  Stream<org.neo4j.graphdb.Relationship> edges() {
+    return StreamSupport.stream(_tx.getAllRelationships().spliterator(), false)
+        .filter(r -> r.isType(RelTypes.f2_1));
+  }
+
+  /** @return every fact in the database (unordered, collect them in a sorted set for order) */
+  Stream<Fact> facts() {
+    return edges().map(this::toFact);
+  }
+
+  /**
+   * converts a Neo4j relationship into a Fact, reusing entities and relationships already hydrated
+   * by this scan
+   *
+   * @param rel a fact relationship to convert
+   * @return the corresponding Fact
+   */
+  Fact toFact(org.neo4j.graphdb.Relationship rel) {
+    var s = toEntity(rel.getStartNode());
+    var r = toRelationship(rel);
+    var o = toEntity(rel.getEndNode());
+    var m = _modifiers.toType(rel.getProperty(MODIFIER));
+
+    return new Fact(s, r, o, m);
+  }
+
+  /**
+   * converts an entity node into an Entity (once per node per scan)
+   *
+   * @param node to convert
+   * @return the corresponding Entity
+   */
+  private Entity toEntity(Node node) {
+    return _entities.computeIfAbsent(
+        node.getId(), id -> new Entity(node.getProperty(NAME).toString(), Aliases.read(node)));
+  }
+
+  /**
+   * converts the catalog node referenced by a fact relationship into a Relationship (once per
+   * catalog node per scan)
+   *
+   * @param rel to convert
+   * @return the corresponding Relationship
+   */
+  private Relationship toRelationship(org.neo4j.graphdb.Relationship rel) {
+    return _relationships.computeIfAbsent(
+        (long) rel.getProperty(RELATIONSHIP_ID), id -> Catalog.read(_tx.getNodeById(id)));
+  }
+}
@@ -0,0 +1,17 @@
+package savvy.core.db;
+
+import java.util.List;
+import savvy.core.fact.Fact;
+
+/** a page of facts read from the database */
+public final class FactsPage {
+  public final List<Fact> facts;
+
+  // where the following page starts, null if there are no more facts
+  public final PageCursor next;
+
+  public FactsPage(List<Fact> facts, PageCursor next) {
+    this.facts = facts;
+    this.next = next;
+  }
+}
@@ -0,0 +1,207 @@
+package savvy.core.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import savvy.core.entity.Entity;
+import savvy.core.fact.Fact;
+import savvy.core.fact.Modifier;
+import savvy.core.relationship.Correlate;
+import savvy.core.relationship.Relationship;
+
+/**
+ * Generates a synthetic knowledge graph for load tests, benchmarks & profiling. The same shape and
+ * seed always give the same facts. Entities and relationships are drawn from zipf-like
+ * distributions (a few hubs, a long tail), some entities have several aliases, relationships have
+ * several correlates and some facts have modifiers.
+ *
+ * <p>facts are generated one at a time, so graphs far larger than memory can be written. An entity
+ * (or relationship) is derived from its id & the seed alone, so it has the same aliases (or
+ * correlates) in every fact it takes part in. note: like real input, some facts are duplicates,
+ * which the store skips
+ */
+public class GraphGenerator {
+  // facts written per call to Dao.createFacts
+  private static final int CHUNK_SIZE = 10 * Dao.DEFAULT_BATCH_SIZE;
+
+  private static final List<String> MODIFIERS =
+      List.of("former", "alleged", "future", "partial", "disputed", "honorary");
+
+  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+  private final GraphShape _shape;
+  private final long _seed;
+
+  /**
+   * @param shape of the graph
+   * @param seed of the random source
+   */
+  public GraphGenerator(GraphShape shape, long seed) {
+    _shape = shape;
+    _seed = seed;
+  }
+
+  /**
+   * generates every fact in order
+   *
+   * @param action to take with each fact
+   */
+  public void generate(Consumer<Fact> action) {
+    var random = new Random(_seed);
+    var entities = _shape.entities();
+    for (var i = 0; i < _shape.facts; i++) {
+      var s = pick(random, entities, _shape.degreeExponent);
+      var o = pick(random, entities, _shape.degreeExponent);
+      while (o == s) {
+        o = pick(random, entities, _shape.degreeExponent);
+      }
+      var r = pick(random, _shape.relationships, _shape.relationshipExponent);
+      action.accept(new Fact(entity(s), relationship(r), entity(o), modifier(random)));
+    }
+  }
+
+  /** @return every fact (only for graphs that fit in memory) */
+  public List<Fact> facts() {
+    var facts = new ArrayList<Fact>(_shape.facts);
+    generate(facts::add);
+    return facts;
+  }
+
+  /**
+   * writes every fact into a store, a chunk at a time
+   *
+   * @param dao of the store
+   * @return the number of facts created (duplicates are skipped)
+   */
+  public int writeTo(Dao dao) {
+    var start = System.nanoTime();
+    var chunk = new ArrayList<Fact>(CHUNK_SIZE);
+    var created = new int[] {0};
+    generate(
+        fact -> {
+          chunk.add(fact);
+          if (chunk.size() == CHUNK_SIZE) {
+            created[0] += dao.createFacts(chunk);
+            chunk.clear();
+          }
+        });
+    created[0] += dao.createFacts(chunk);
+
+    log.info(
+        "generated {} facts ({} created) in {} ms -- {}",
+        _shape.facts,
+        created[0],
+        (System.nanoTime() - start) / 1_000_000,
+        _shape);
+    return created[0];
+  }
+
+  /**
+   * @param id of an entity
+   * @return the entity, with its aliases
+   */
+  public Entity entity(int id) {
+    var random = new Random(mix(id, 1));
+    var aliases = new HashSet<String>();
+    if (random.nextDouble() < _shape.aliasRate && _shape.maxAliases > 0) {
+      var count = 1 + random.nextInt(_shape.maxAliases);
+      for (var i = 0; i < count; i++) {
+        aliases.add("alias " + id + "." + i);
+      }
+    }
+    return new Entity("entity " + id, aliases);
+  }
+
+  /**
+   * @param id of a relationship
+   * @return the relationship, with its correlates
+   */
+  public Relationship relationship(int id) {
+    var random = new Random(mix(id, 2));
+    var name = "relationship " + id;
+    var correlates = new HashSet<Correlate>();
+    correlates.add(new Correlate(name, "[←" + name + "]"));
+    var count = 1 + random.nextInt(_shape.maxCorrelates);
+    for (var i = 1; i < count; i++) {
+      correlates.add(new Correlate(name + " form " + i, name + " inverse " + i));
+    }
+    return new Relationship(name, correlates);
+  }
+
+  /**
+   * @param random source
+   * @return the modifiers of a fact (empty for most facts)
+   */
+  private Modifier modifier(Random random) {
+    if (random.nextDouble() >= _shape.modifierRate) {
+      return new Modifier(true, "", "", "");
+    }
+    return new Modifier(
+        random.nextInt(10) > 0,
+        random.nextBoolean() ? MODIFIERS.get(random.nextInt(MODIFIERS.size())) : "",
+        random.nextBoolean() ? MODIFIERS.get(random.nextInt(MODIFIERS.size())) : "",
+        random.nextBoolean() ? MODIFIERS.get(random.nextInt(MODIFIERS.size())) : "");
+  }
+
+  /**
+   * draws an id from a (continuous approximation of a) zipf distribution by inverting its
+   * cumulative distribution, id 0 being the most likely
+   *
+   * @param random source
+   * @param count of ids
+   * @param exponent of the distribution (0 is uniform)
+   * @return an id from 0 to count - 1
+   */
+  static int pick(Random random, int count, double exponent) {
+    var u = random.nextDouble();
+    double x;
+    if (Math.abs(exponent - 1) < 1e-9) {
+      x = Math.pow(count + 1, u);
+    } else {
+      var a = 1 - exponent;
+      x = Math.pow((Math.pow(count + 1, a) - 1) * u + 1, 1 / a);
+    }
+    return Math.min(count - 1, (int) x - 1);
+  }
+
+  /**
+   * @param id of an entity/relationship
+   * @param kind of the id
+   * @return a seed for the attributes of the entity/relationship
+   */
+  private long mix(int id, int kind) {
+    var h = _seed * 0x9E3779B97F4A7C15L + id * 31L + kind;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * writes a synthetic graph into a persistent db (e.g. to profile the app against)
+   *
+   * @param args db directory, number of facts & optionally the seed
+   * @throws IOException when the db cannot be created
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("usage: GraphGenerator <db directory> <facts> [seed]");
+      System.exit(1);
+    }
+
+    var en4j = new EmbeddedNeo4j(new File(args[0]));
+    en4j.createDb(true);
+    try {
+      var shape = GraphShape.DEFAULT.withFacts(Integer.parseInt(args[1]));
+      var seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+      new GraphGenerator(shape, seed).writeTo(new Dao(en4j));
+    } finally {
+      en4j.shutDown();
+    }
+  }
+}
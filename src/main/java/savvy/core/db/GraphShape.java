@@ -0,0 +1,114 @@
+package savvy.core.db;
+
+/** the shape of a synthetic knowledge graph (see GraphGenerator) */
+public final class GraphShape {
+  /** a small graph with skewed degrees, a few aliases and modifiers */
+  public static final GraphShape DEFAULT = new GraphShape(10_000, 4, 1.0, 50, 1.2, 3, 0.3, 4, 0.1);
+
+  // number of facts to generate (duplicates included)
+  public final int facts;
+
+  // average number of facts per entity (sets the number of entities)
+  public final int averageDegree;
+
+  // zipf exponent of how often entities take part in facts (0 is uniform, ~1 is a power law)
+  public final double degreeExponent;
+
+  // number of distinct relationships
+  public final int relationships;
+
+  // zipf exponent of how often each relationship is used
+  public final double relationshipExponent;
+
+  // most correlates per relationship (at least the default one)
+  public final int maxCorrelates;
+
+  // fraction of entities with aliases
+  public final double aliasRate;
+
+  // most aliases per aliased entity
+  public final int maxAliases;
+
+  // fraction of facts with modifiers
+  public final double modifierRate;
+
+  public GraphShape(
+      int facts,
+      int averageDegree,
+      double degreeExponent,
+      int relationships,
+      double relationshipExponent,
+      int maxCorrelates,
+      double aliasRate,
+      int maxAliases,
+      double modifierRate) {
+    if (facts < 0 || maxAliases < 0) {
+      throw new IllegalArgumentException("facts and maxAliases must not be negative");
+    }
+    if (averageDegree < 1 || relationships < 1 || maxCorrelates < 1) {
+      throw new IllegalArgumentException(
+          "averageDegree, relationships and maxCorrelates must be positive");
+    }
+    if (degreeExponent < 0 || relationshipExponent < 0) {
+      throw new IllegalArgumentException("exponents must not be negative");
+    }
+    if (aliasRate < 0 || aliasRate > 1 || modifierRate < 0 || modifierRate > 1) {
+      throw new IllegalArgumentException("rates must be between 0 and 1");
+    }
+    this.facts = facts;
+    this.averageDegree = averageDegree;
+    this.degreeExponent = degreeExponent;
+    this.relationships = relationships;
+    this.relationshipExponent = relationshipExponent;
+    this.maxCorrelates = maxCorrelates;
+    this.aliasRate = aliasRate;
+    this.maxAliases = maxAliases;
+    this.modifierRate = modifierRate;
+  }
+
+  /**
+   * @param facts number of facts to generate
+   * @return this shape scaled to a number of facts
+   */
+  public GraphShape withFacts(int facts) {
+    return new GraphShape(
+        facts,
+        averageDegree,
+        degreeExponent,
+        relationships,
+        relationshipExponent,
+        maxCorrelates,
+        aliasRate,
+        maxAliases,
+        modifierRate);
+  }
+
+  /** @return the number of entities facts are generated between */
+  public int entities() {
+    return Math.max(2, (int) Math.min(Integer.MAX_VALUE, 2L * facts / averageDegree));
+  }
+
+  @Override
+  public String toString() {
+    return "GraphShape{"
+        + "facts="
+        + facts
+        + ", averageDegree="
+        + averageDegree
+        + ", degreeExponent="
+        + degreeExponent
+        + ", relationships="
+        + relationships
+        + ", relationshipExponent="
+        + relationshipExponent
+        + ", maxCorrelates="
+        + maxCorrelates
+        + ", aliasRate="
+        + aliasRate
+        + ", maxAliases="
+        + maxAliases
+        + ", modifierRate="
+        + modifierRate
+        + '}';
+  }
+}
@@ -0,0 +1,30 @@
+package savvy.core.db;
+
+/** bounds for reading the facts around an entity */
+public final class NeighbourhoodOptions {
+  public static final int DEFAULT_DEPTH = 2;
+  public static final int DEFAULT_PAGE_SIZE = 250;
+
+  /** bounds used unless others are asked for */
+  public static final NeighbourhoodOptions DEFAULT =
+      new NeighbourhoodOptions(DEFAULT_DEPTH, DEFAULT_PAGE_SIZE);
+
+  // furthest (in relationships) a fact may be from the entity
+  public final int depth;
+
+  // most facts to read at once
+  public final int pageSize;
+
+  public NeighbourhoodOptions(int depth, int pageSize) {
+    if (depth < 1 || pageSize < 1) {
+      throw new IllegalArgumentException("depth and pageSize must be positive");
+    }
+    this.depth = depth;
+    this.pageSize = pageSize;
+  }
+
+  @Override
+  public String toString() {
+    return "NeighbourhoodOptions{" + "depth=" + depth + ", pageSize=" + pageSize + '}';
+  }
+}
@@ -0,0 +1,125 @@
+package savvy.core.db;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import savvy.core.fact.Fact;
+
+/**
+ * Reads the facts around an entity one page at a time. The neighbourhood is explored breadth first
+ * up to a given depth (ignoring direction). Each hop's relationships are ordered by id, so a page
+ * can resume from a PageCursor. Only relationship ids are gathered while exploring, facts are
+ * only built for the relationships on the requested page.
+ */
+final class NeighbourhoodSearch {
+  private final NeighbourhoodOptions _options;
+
+  NeighbourhoodSearch(NeighbourhoodOptions options) {
+    _options = options;
+  }
+
+  /**
+   * read a page of the facts around a node
+   *
+   * @param start node at the centre of the neighbourhood
+   * @param cursor where the previous page ended, null for the first page
+   * @param scan to convert relationships to facts with
+   * @return the page of facts (nearest first) and where the next page starts
+   */
+  FactsPage page(Node start, PageCursor cursor, FactScan scan) {
+    if (cursor != null) {
+      cursor.require(PageCursor.Kind.HOP);
+    }
+    var facts = new ArrayList<Fact>();
+
+    var distances = new HashMap<Long, Integer>();
+    distances.put(start.getId(), 0);
+    List<Node> frontier = List.of(start);
+
+    for (var hop = 1; hop <= _options.depth && !frontier.isEmpty(); hop++) {
+      var layer = new TreeMap<Long, Relationship>();
+      var next = new ArrayList<Node>();
+      expand(frontier, hop, distances, layer, next);
+      frontier = next;
+
+      // already read on previous pages
+      if (cursor != null && hop < cursor.hop) {
+        continue;
+      }
+      var remaining =
+          cursor != null && hop == cursor.hop ? layer.tailMap(cursor.after, false) : layer;
+
+      for (var entry : remaining.entrySet()) {
+        if (facts.size() == _options.pageSize) {
+          return new FactsPage(facts, PageCursor.hop(hop, remaining.lowerKey(entry.getKey())));
+        }
+        facts.add(scan.toFact(entry.getValue()));
+      }
+
+      // page filled exactly at the end of this hop -> resume at the next one (if it has facts)
+      if (facts.size() == _options.pageSize) {
+        var more = hop < _options.depth && leadsOn(frontier, hop, distances);
+        return new FactsPage(facts, more ? PageCursor.hop(hop + 1, -1) : null);
+      }
+    }
+    return new FactsPage(facts, null);
+  }
+
+  /**
+   * @param frontier nodes first reached at a hop
+   * @param hop they were reached at
+   * @param distances nodes seen so far
+   * @return true if they take part in relationships read at the next hop (not only the ones
+   *     leading back to the previous hop)
+   */
+  private static boolean leadsOn(List<Node> frontier, int hop, Map<Long, Integer> distances) {
+    for (var node : frontier) {
+      for (var rel : node.getRelationships(RelTypes.f2_1)) {
+        var distance = distances.get(rel.getOtherNode(node).getId());
+        if (distance == null || distance >= hop) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * gathers the relationships first reached at a given hop
+   *
+   * @param frontier nodes one hop closer to the start
+   * @param hop being gathered
+   * @param distances nodes seen so far (updated with the nodes reached at this hop)
+   * @param layer relationships reached at this hop by id
+   * @param next nodes first reached at this hop
+   */
+  private void expand(
+      List<Node> frontier,
+      int hop,
+      Map<Long, Integer> distances,
+      Map<Long, Relationship> layer,
+      List<Node> next) {
+
+    for (var node : frontier) {
+      for (var rel : node.getRelationships(RelTypes.f2_1)) {
+        var other = rel.getOtherNode(node);
+        var distance = distances.get(other.getId());
+
+        // leads back towards the start -> read at an earlier hop
+        if (distance != null && distance < hop - 1) {
+          continue;
+        }
+
+        layer.putIfAbsent(rel.getId(), rel);
+        if (distance == null) {
+          distances.put(other.getId(), hop);
+          next.add(other);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package savvy.core.db;
+
+import java.util.Objects;
+
+/**
+ * marks where a page of facts ended, for the kind of search that read it:
+ *
+ * <p>related facts (HOP) are read nearest first (by hop) and then by relationship id, so the next
+ * page resumes after the last relationship read at the last hop
+ *
+ * <p>full-text matches (SCORE) are read best first (by score) and then by relationship id, so the
+ * next page resumes after the score and relationship id of the last match read
+ *
+ * <p>the list of every fact (OFFSET) is read in sorted order, so the next page resumes after the
+ * number of facts read
+ */
+public final class PageCursor {
+  /** how the next page is found */
+  public enum Kind {
+    HOP,
+    SCORE,
+    OFFSET
+  }
+
+  public final Kind kind;
+
+  // hop the last read fact was found at (HOP only)
+  public final int hop;
+
+  // score of the last read fact (SCORE only)
+  public final double score;
+
+  // number of facts read (OFFSET only)
+  public final int offset;
+
+  // id of the last read fact relationship, -1 if there is none
+  public final long after;
+
+  private PageCursor(Kind kind, int hop, double score, int offset, long after) {
+    this.kind = kind;
+    this.hop = hop;
+    this.score = score;
+    this.offset = offset;
+    this.after = after;
+  }
+
+  /**
+   * @param hop the last read fact was found at
+   * @param after id of the last read fact relationship, -1 to start at the hop's first
+   * @return a cursor of related facts
+   */
+  public static PageCursor hop(int hop, long after) {
+    return new PageCursor(Kind.HOP, hop, 0, 0, after);
+  }
+
+  /**
+   * @param score of the last read fact
+   * @param after id of the last read fact relationship
+   * @return a cursor of full-text matches
+   */
+  public static PageCursor score(double score, long after) {
+    return new PageCursor(Kind.SCORE, 0, score, 0, after);
+  }
+
+  /**
+   * @param offset number of facts read
+   * @param after id of the last read fact relationship, -1 if there is none
+   * @return a cursor of sorted facts
+   */
+  public static PageCursor offset(int offset, long after) {
+    return new PageCursor(Kind.OFFSET, 0, 0, offset, after);
+  }
+
+  /**
+   * @param kind of the search resuming from this cursor
+   * @throws IllegalArgumentException if another kind of search issued it
+   */
+  public void require(Kind kind) {
+    if (this.kind != kind) {
+      throw new IllegalArgumentException("cannot resume a " + kind + " search from " + this);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PageCursor{"
+        + "kind="
+        + kind
+        + ", hop="
+        + hop
+        + ", score="
+        + score
+        + ", offset="
+        + offset
+        + ", after="
+        + after
+        + '}';
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof PageCursor)) return false;
+    PageCursor that = (PageCursor) o;
+    return kind == that.kind
+        && hop == that.hop
+        && Double.compare(score, that.score) == 0
+        && offset == that.offset
+        && after == that.after;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(kind, hop, score, offset, after);
+  }
+}
@@ -0,0 +1,58 @@
+package savvy.core.db;
+
+/** bounds for searching the paths that connect two entities */
+public final class PathOptions {
+  public static final int DEFAULT_MAX_HOPS = 4;
+  public static final int DEFAULT_MAX_PATHS = 100;
+
+  /** bounded search used unless another is asked for */
+  public static final PathOptions DEFAULT =
+      new PathOptions(DEFAULT_MAX_HOPS, DEFAULT_MAX_PATHS, false);
+
+  /**
+   * every simple path between the entities regardless of length note: this can take exponential
+   * time on densely connected entities, only use it when explicitly asked for
+   */
+  public static final PathOptions UNBOUNDED =
+      new PathOptions(Integer.MAX_VALUE, Integer.MAX_VALUE, false, true);
+
+  // longest path (in relationships) to consider
+  public final int maxHops;
+
+  // stop searching once this many paths are found
+  public final int maxPaths;
+
+  // only gather the shortest paths (instead of all paths within maxHops)
+  public final boolean shortestOnly;
+
+  // use the unbounded search over every simple path
+  public final boolean unbounded;
+
+  public PathOptions(int maxHops, int maxPaths, boolean shortestOnly) {
+    this(maxHops, maxPaths, shortestOnly, false);
+  }
+
+  private PathOptions(int maxHops, int maxPaths, boolean shortestOnly, boolean unbounded) {
+    if (maxHops < 1 || maxPaths < 1) {
+      throw new IllegalArgumentException("maxHops and maxPaths must be positive");
+    }
+    this.maxHops = maxHops;
+    this.maxPaths = maxPaths;
+    this.shortestOnly = shortestOnly;
+    this.unbounded = unbounded;
+  }
+
+  @Override
+  public String toString() {
+    return "PathOptions{"
+        + "maxHops="
+        + maxHops
+        + ", maxPaths="
+        + maxPaths
+        + ", shortestOnly="
+        + shortestOnly
+        + ", unbounded="
+        + unbounded
+        + '}';
+  }
+}
@@ -0,0 +1,199 @@
+package savvy.core.db;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+
+/**
+ * Finds the simple paths (no repeated entities) of fact relationships that connect two entities,
+ * ignoring direction. The search is bounded by PathOptions:
+ *
+ * <ol>
+ *   <li>a breadth first search from both ends at once finds the shortest distance, expanding the
+ *       smaller frontier each step, and gives up as soon as maxHops is exceeded
+ *   <li>distances to the end entity are gathered (up to the longest length searched) so that any
+ *       branch which can no longer reach the end within its remaining hops is pruned
+ *   <li>paths are then enumerated one length at a time, shortest first, until maxPaths is reached
+ * </ol>
+ */
+final class PathSearch {
+  private final PathOptions _options;
+
+  PathSearch(PathOptions options) {
+    _options = options;
+  }
+
+  /**
+   * search for the paths between two entity nodes
+   *
+   * @param from start point (arbitrary, since direction is ignored)
+   * @param to end point
+   * @return the relationships of each path found, shortest paths first
+   */
+  List<List<Relationship>> paths(Node from, Node to) {
+    var found = new ArrayList<List<Relationship>>();
+    if (from.equals(to)) {
+      return found;
+    }
+
+    var shortest = shortestDistance(from, to);
+    if (shortest < 0) {
+      return found;
+    }
+
+    var longest = _options.shortestOnly ? shortest : _options.maxHops;
+    var toDistances = distances(to, longest - 1);
+
+    var visited = new HashSet<Long>();
+    visited.add(from.getId());
+    for (var length = shortest; length <= longest && found.size() < _options.maxPaths; length++) {
+      collect(from, to, length, toDistances, visited, new ArrayDeque<>(), found);
+    }
+    return found;
+  }
+
+  /**
+   * bidirectional breadth first search for the distance between two nodes
+   *
+   * @param from start node
+   * @param to end node
+   * @return the number of hops between them or -1 if they are further apart than maxHops
+   */
+  private int shortestDistance(Node from, Node to) {
+    var fromDistances = new HashMap<Long, Integer>();
+    var toDistances = new HashMap<Long, Integer>();
+    fromDistances.put(from.getId(), 0);
+    toDistances.put(to.getId(), 0);
+
+    var fromFrontier = List.of(from);
+    var toFrontier = List.of(to);
+    var fromDepth = 0;
+    var toDepth = 0;
+
+    while (fromDepth + toDepth < _options.maxHops
+        && !fromFrontier.isEmpty()
+        && !toFrontier.isEmpty()) {
+      var best = Integer.MAX_VALUE;
+
+      // expand the smaller side
+      if (fromFrontier.size() <= toFrontier.size()) {
+        fromDepth++;
+        fromFrontier = expand(fromFrontier, fromDepth, fromDistances);
+        for (var node : fromFrontier) {
+          var other = toDistances.get(node.getId());
+          if (other != null) {
+            best = Math.min(best, fromDepth + other);
+          }
+        }
+      } else {
+        toDepth++;
+        toFrontier = expand(toFrontier, toDepth, toDistances);
+        for (var node : toFrontier) {
+          var other = fromDistances.get(node.getId());
+          if (other != null) {
+            best = Math.min(best, toDepth + other);
+          }
+        }
+      }
+
+      if (best != Integer.MAX_VALUE) {
+        return best;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * breadth first search for the distance to every node within a number of hops
+   *
+   * @param start node
+   * @param depth maximum number of hops
+   * @return distances by node id
+   */
+  private Map<Long, Integer> distances(Node start, int depth) {
+    var distances = new HashMap<Long, Integer>();
+    distances.put(start.getId(), 0);
+
+    var frontier = List.of(start);
+    for (var d = 1; d <= depth && !frontier.isEmpty(); d++) {
+      frontier = expand(frontier, d, distances);
+    }
+    return distances;
+  }
+
+  /**
+   * advances a breadth first search by one level
+   *
+   * @param frontier the nodes of the previous level
+   * @param depth of the new level
+   * @param distances nodes seen so far (updated with the new level)
+   * @return the nodes of the new level
+   */
+  private List<Node> expand(List<Node> frontier, int depth, Map<Long, Integer> distances) {
+    var next = new ArrayList<Node>();
+    for (var node : frontier) {
+      for (var rel : node.getRelationships(RelTypes.f2_1)) {
+        var other = rel.getOtherNode(node);
+        if (distances.putIfAbsent(other.getId(), depth) == null) {
+          next.add(other);
+        }
+      }
+    }
+    return next;
+  }
+
+  /**
+   * depth first enumeration of the simple paths with exactly the remaining number of hops
+   *
+   * @param node the current end of the path
+   * @param to the node paths must end at
+   * @param remaining hops left on the path
+   * @param toDistances distances to the end node, any node missing is too far away
+   * @param visited nodes already on the path
+   * @param path relationships on the path so far
+   * @param found the paths found so far
+   */
+  private void collect(
+      Node node,
+      Node to,
+      int remaining,
+      Map<Long, Integer> toDistances,
+      Set<Long> visited,
+      Deque<Relationship> path,
+      List<List<Relationship>> found) {
+
+    for (var rel : node.getRelationships(RelTypes.f2_1)) {
+      if (found.size() >= _options.maxPaths) {
+        return;
+      }
+
+      var other = rel.getOtherNode(node);
+      var distance = toDistances.get(other.getId());
+
+      // cannot reach the end in time or would revisit a node
+      if (distance == null || distance > remaining - 1 || visited.contains(other.getId())) {
+        continue;
+      }
+
+      path.addLast(rel);
+      if (other.equals(to)) {
+        // only complete when exactly at the requested length
+        if (remaining == 1) {
+          found.add(new ArrayList<>(path));
+        }
+      } else {
+        visited.add(other.getId());
+        collect(other, to, remaining - 1, toDistances, visited, path, found);
+        visited.remove(other.getId());
+      }
+      path.removeLast();
+    }
+  }
+}
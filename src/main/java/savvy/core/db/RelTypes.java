@@ -4,5 +4,6 @@ import org.neo4j.graphdb.RelationshipType;
 
 /** describes the types of relationships within the database */
 public enum RelTypes implements RelationshipType {
-  f2_1 // a fact relationship: 2 entities & 1 relationship
+  f2_1, // a fact relationship: 2 entities & 1 relationship
+  alias_of // from an alias lookup node to the entity it names
 }
@@ -8,7 +8,13 @@ import java.io.ObjectOutputStream;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.fact.Modifier;
 
+/**
+ * converts values to and from the bytes stored as properties sets of strings/correlates and
+ * modifiers are written in the compact Codec format, anything else falls back to Java
+ * serialization (which is also still read for values stored before the Codec existed)
+ */
 @SuppressWarnings("unchecked")
 public class SerDe<T> {
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
@@ -20,7 +26,10 @@ public class SerDe<T> {
    * @return byte array
    */
   public byte[] fromSet(Set<T> set) {
-    return fromObject(set);
+    if (Codec.canEncode(set)) {
+      return Codec.encodeSet(set);
+    }
+    return serialize(set);
   }
 
   /**
@@ -30,17 +39,13 @@ public class SerDe<T> {
    * @return byte array
    */
   public byte[] fromObject(Object o) {
-    var baos = new ByteArrayOutputStream();
-
-    try {
-      var oos = new ObjectOutputStream(baos);
-      oos.writeObject(o);
-      oos.flush();
-
-    } catch (IOException e) {
-      log.error("error: ", e);
+    if (o instanceof Modifier) {
+      return Codec.encodeModifier((Modifier) o);
     }
-    return baos.toByteArray();
+    if (o instanceof Set && Codec.canEncode((Set<?>) o)) {
+      return Codec.encodeSet((Set<?>) o);
+    }
+    return serialize(o);
   }
 
   /**
@@ -50,19 +55,8 @@ public class SerDe<T> {
    * @return a set of T
    */
   public Set<T> toSet(byte[] bytes) {
-    var bais = new ByteArrayInputStream(bytes);
-
-    try {
-      try (var ois = new ObjectInputStream(bais)) {
-        return (Set<T>) ois.readObject();
-      } catch (ClassNotFoundException e) {
-        log.error("class not found -- ", e);
-      }
-
-    } catch (IOException e) {
-      log.error("IO expception -- ", e);
-    }
-    return Set.of();
+    var set = (Set<T>) deserialize(bytes);
+    return set == null ? Set.of() : set;
   }
 
   /**
@@ -72,18 +66,7 @@ public class SerDe<T> {
    * @return a T
    */
   public T toType(byte[] bytes) {
-    var bais = new ByteArrayInputStream(bytes);
-
-    try {
-      try (var ois = new ObjectInputStream(bais)) {
-        return (T) ois.readObject();
-      } catch (ClassNotFoundException e) {
-        log.error("class not found -- ", e);
-      }
-    } catch (IOException e) {
-      log.error("IO expception -- ", e);
-    }
-    return null;
+    return (T) deserialize(bytes);
   }
 
   /**
@@ -105,4 +88,62 @@ public class SerDe<T> {
   public Set<T> toSet(Object bytes) {
     return toSet((byte[]) bytes);
   }
+
+  /**
+   * @param bytes a stored value
+   * @return true if the value was stored with Java serialization (before the Codec existed)
+   */
+  public static boolean isLegacy(Object bytes) {
+    return bytes instanceof byte[] && !Codec.isCompact((byte[]) bytes);
+  }
+
+  /**
+   * converts an object into a byte array with Java serialization
+   *
+   * @param o to convert
+   * @return byte array
+   */
+  private byte[] serialize(Object o) {
+    var baos = new ByteArrayOutputStream();
+
+    try {
+      var oos = new ObjectOutputStream(baos);
+      oos.writeObject(o);
+      oos.flush();
+
+    } catch (IOException e) {
+      log.error("error: ", e);
+    }
+    return baos.toByteArray();
+  }
+
+  /**
+   * converts a byte array (in either format) into an object
+   *
+   * @param bytes to convert
+   * @return the object or null if it could not be read
+   */
+  private Object deserialize(byte[] bytes) {
+    if (Codec.isCompact(bytes)) {
+      try {
+        return Codec.decode(bytes);
+      } catch (IOException e) {
+        log.error("malformed value -- ", e);
+        return null;
+      }
+    }
+
+    var bais = new ByteArrayInputStream(bytes);
+
+    try {
+      try (var ois = new ObjectInputStream(bais)) {
+        return ois.readObject();
+      } catch (ClassNotFoundException e) {
+        log.error("class not found -- ", e);
+      }
+    } catch (IOException e) {
+      log.error("IO expception -- ", e);
+    }
+    return null;
+  }
 }
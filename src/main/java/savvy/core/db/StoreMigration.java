@@ -0,0 +1,296 @@
+package savvy.core.db;
+
+import static savvy.core.db.Constants.ALIASES;
+import static savvy.core.db.Constants.CORRELATES;
+import static savvy.core.db.Constants.ENTITY_LABEL;
+import static savvy.core.db.Constants.FACT_ID;
+import static savvy.core.db.Constants.FACT_KEY;
+import static savvy.core.db.Constants.FACT_KEY_LABEL;
+import static savvy.core.db.Constants.FORMS;
+import static savvy.core.db.Constants.META_LABEL;
+import static savvy.core.db.Constants.MODIFIER;
+import static savvy.core.db.Constants.MODIFIERS;
+import static savvy.core.db.Constants.NAME;
+import static savvy.core.db.Constants.RELATIONSHIP_ID;
+import static savvy.core.db.Constants.RELATIONSHIP_LABEL;
+import static savvy.core.db.Constants.STORE_VERSION;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Stream;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import savvy.core.fact.Modifier;
+import savvy.core.relationship.Correlate;
+import savvy.core.relationship.Relationship;
+
+/**
+ * upgrades an existing store to the current storage format the store's version is kept on a Meta
+ * node, each upgrade rewrites the affected values a batch (transaction) at a time
+ *
+ * <ol>
+ *   <li>values stored with Java serialization are rewritten in the compact Codec format
+ *   <li>entity aliases are rewritten as native string arrays with indexed lookup nodes
+ *   <li>relationship names/correlates are moved off fact relationships onto catalog nodes
+ *   <li>fact relationships are given identity keys (duplicate facts are removed)
+ *   <li>relationship forms & fact modifiers are written as text for full-text search, fact keys
+ *       are given their relationship
+ * </ol>
+ */
+public class StoreMigration {
+  public static final int VERSION = 5;
+  public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+  private final GraphDatabaseService _service;
+  private final int _batchSize;
+
+  public StoreMigration(EmbeddedNeo4j en4j) {
+    this(en4j, DEFAULT_BATCH_SIZE);
+  }
+
+  public StoreMigration(EmbeddedNeo4j en4j, int batchSize) {
+    _service = en4j.getService();
+    _batchSize = batchSize;
+  }
+
+  /**
+   * upgrades the store if it is older than the current version
+   *
+   * @return the number of values rewritten
+   */
+  public long run() {
+    var version = readVersion();
+    if (version >= VERSION) {
+      return 0;
+    }
+
+    log.info("migrating store -- version: {} -> {}", version, VERSION);
+    var rewritten = 0L;
+    if (version < 1) {
+      rewritten += toCompactCodec();
+    }
+    if (version < 2) {
+      rewritten += toNativeAliases();
+    }
+    if (version < 3) {
+      rewritten += toRelationshipCatalog();
+    }
+    if (version < 4) {
+      rewritten += toFactKeys();
+    }
+    if (version < 5) {
+      rewritten += toSearchable();
+    }
+
+    writeVersion(VERSION);
+    log.info("migrated store -- values rewritten: {}", rewritten);
+    return rewritten;
+  }
+
+  /**
+   * rewrites values stored with Java serialization in the compact Codec format (aliases are left
+   * to toNativeAliases)
+   *
+   * @return the number of values rewritten
+   */
+  private long toCompactCodec() {
+    var relationships = ids(tx -> new FactScan(tx).edges().map(r -> r.getId()));
+    return inBatches(
+        relationships,
+        (tx, id) -> {
+          var rel = tx.getRelationshipById(id);
+          return rewriteLegacy(rel, CORRELATES) + rewriteLegacy(rel, MODIFIER);
+        });
+  }
+
+  /**
+   * rewrites serialized entity aliases as string arrays and creates their lookup nodes
+   *
+   * @return the number of values rewritten
+   */
+  private long toNativeAliases() {
+    var nodes = ids(tx -> tx.findNodes(ENTITY_LABEL).stream().map(n -> n.getId()));
+    return inBatches(
+        nodes,
+        (tx, id) -> {
+          var node = tx.getNodeById(id);
+          if (!(node.getProperty(ALIASES, null) instanceof byte[])) {
+            return 0;
+          }
+          Aliases.write(tx, node, Aliases.read(node));
+          return 1;
+        });
+  }
+
+  /**
+   * moves the name and correlates stored on each fact relationship onto a shared catalog node (the
+   * first correlates seen for a name are kept)
+   *
+   * @return the number of values rewritten
+   */
+  private long toRelationshipCatalog() {
+    var relationships = ids(tx -> new FactScan(tx).edges().map(r -> r.getId()));
+    return inBatches(
+        relationships,
+        (tx, id) -> {
+          var rel = tx.getRelationshipById(id);
+          if (!rel.hasProperty(NAME)) {
+            return 0;
+          }
+
+          var name = rel.getProperty(NAME).toString();
+          Set<Correlate> correlates = new SerDe<Correlate>().toSet(rel.getProperty(CORRELATES));
+          Catalog.reference(rel, Catalog.findOrCreate(tx, new Relationship(name, correlates)));
+          rel.removeProperty(NAME);
+          rel.removeProperty(CORRELATES);
+          return 1;
+        });
+  }
+
+  /**
+   * gives each fact relationship an identity key, deleting facts that duplicate an earlier one
+   *
+   * @return the number of values rewritten
+   */
+  private long toFactKeys() {
+    var relationships = ids(tx -> new FactScan(tx).edges().map(r -> r.getId()));
+    return inBatches(
+        relationships,
+        (tx, id) -> {
+          var rel = tx.getRelationshipById(id);
+          if (rel.hasProperty(FACT_KEY)) {
+            return 0;
+          }
+
+          if (FactKeys.find(tx, FactKeys.of(rel)) != null) {
+            Catalog.delete(tx, rel);
+          } else {
+            FactKeys.add(tx, rel);
+          }
+          return 1;
+        });
+  }
+
+  /**
+   * writes the text searched by full-text queries (relationship forms & fact modifiers) and records
+   * the relationship of each fact key
+   *
+   * @return the number of values rewritten
+   */
+  private long toSearchable() {
+    var catalog = ids(tx -> tx.findNodes(RELATIONSHIP_LABEL).stream().map(n -> n.getId()));
+    var rewritten =
+        inBatches(
+            catalog,
+            (tx, id) -> {
+              var node = tx.getNodeById(id);
+              node.setProperty(FORMS, Catalog.forms(Catalog.read(node)));
+              return 1;
+            });
+
+    var relationships = ids(tx -> new FactScan(tx).edges().map(r -> r.getId()));
+    rewritten +=
+        inBatches(
+            relationships,
+            (tx, id) -> {
+              var rel = tx.getRelationshipById(id);
+              Modifier modifier = new SerDe<Modifier>().toType(rel.getProperty(MODIFIER));
+              rel.setProperty(MODIFIERS, TextSearch.text(modifier));
+              return 1;
+            });
+
+    var keys = ids(tx -> tx.findNodes(FACT_KEY_LABEL).stream().map(n -> n.getId()));
+    rewritten +=
+        inBatches(
+            keys,
+            (tx, id) -> {
+              var node = tx.getNodeById(id);
+              var fact = tx.getRelationshipById((long) node.getProperty(FACT_ID));
+              node.setProperty(RELATIONSHIP_ID, fact.getProperty(RELATIONSHIP_ID));
+              return 1;
+            });
+    return rewritten;
+  }
+
+  /**
+   * rewrites a property in the compact Codec format if it was stored with Java serialization
+   *
+   * @param entity holding the property
+   * @param key of the property
+   * @return 1 if the property was rewritten, otherwise 0
+   */
+  private int rewriteLegacy(org.neo4j.graphdb.Entity entity, String key) {
+    var value = entity.getProperty(key, null);
+    if (!SerDe.isLegacy(value)) {
+      return 0;
+    }
+
+    var serde = new SerDe<Object>();
+    entity.setProperty(key, serde.fromObject(serde.toType(value)));
+    return 1;
+  }
+
+  /**
+   * gathers the ids of the entities (nodes/relationships) to migrate
+   *
+   * @param read streams the ids within a transaction
+   * @return the ids
+   */
+  private List<Long> ids(Function<Transaction, Stream<Long>> read) {
+    var ids = new ArrayList<Long>();
+    try (var tx = _service.beginTx()) {
+      read.apply(tx).forEach(ids::add);
+    }
+    return ids;
+  }
+
+  /**
+   * applies an operation to each id, committing once per batch
+   *
+   * @param ids to apply the operation to
+   * @param op applies to an id and returns the number of values rewritten
+   * @return the total number of values rewritten
+   */
+  private long inBatches(List<Long> ids, ToIntBiFunction<Transaction, Long> op) {
+    var rewritten = 0L;
+    for (var from = 0; from < ids.size(); from += _batchSize) {
+      var to = Math.min(from + _batchSize, ids.size());
+      try (var tx = _service.beginTx()) {
+        for (var id : ids.subList(from, to)) {
+          rewritten += op.applyAsInt(tx, id);
+        }
+        tx.commit();
+      }
+      log.info("migrated: {} / {}", to, ids.size());
+    }
+    return rewritten;
+  }
+
+  /** @return the version of the store (0 if it predates versioning) */
+  private int readVersion() {
+    try (var tx = _service.beginTx();
+        var found = tx.findNodes(META_LABEL)) {
+      return found.hasNext() ? (int) found.next().getProperty(STORE_VERSION, 0) : 0;
+    }
+  }
+
+  /**
+   * records the version of the store
+   *
+   * @param version to record
+   */
+  private void writeVersion(int version) {
+    try (var tx = _service.beginTx();
+        var found = tx.findNodes(META_LABEL)) {
+      var meta = found.hasNext() ? found.next() : tx.createNode(META_LABEL);
+      meta.setProperty(STORE_VERSION, version);
+      tx.commit();
+    }
+  }
+}
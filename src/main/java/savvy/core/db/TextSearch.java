@@ -0,0 +1,189 @@
+package savvy.core.db;
+
+import static savvy.core.db.Constants.ALIAS_LABEL;
+import static savvy.core.db.Constants.CYPHER_SEARCH_FACTS;
+import static savvy.core.db.Constants.CYPHER_SEARCH_NODES;
+import static savvy.core.db.Constants.ENTITY_LABEL;
+import static savvy.core.db.Constants.QUERY;
+import static savvy.core.db.Constants.RELATIONSHIP_LABEL;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import savvy.core.fact.Fact;
+import savvy.core.fact.Modifier;
+
+/**
+ * Reads the facts matching a full-text query one page at a time. The query is run against the
+ * full-text indexes of entity & alias names, relationship forms and fact modifiers. Each hit scores
+ * the facts it leads to (an entity's facts, a relationship's facts or the fact itself), facts are
+ * ranked by their total score (then by id) and only the facts on the requested page are built.
+ *
+ * <p>a cursor holds the score and id of the last fact read, a page is the best ranked facts after
+ * it (kept in a heap of a page's size, the matches are never sorted as a whole)
+ */
+final class TextSearch {
+  private static final String SPECIAL = "+-&|!(){}[]^\"~*?:\\/";
+
+  // best match first: highest score, then lowest id
+  private static final Comparator<Map.Entry<Long, Double>> RANK =
+      Map.Entry.<Long, Double>comparingByValue()
+          .reversed()
+          .thenComparing(Map.Entry.comparingByKey());
+
+  private final int _pageSize;
+
+  TextSearch(int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("pageSize must be positive");
+    }
+    _pageSize = pageSize;
+  }
+
+  /**
+   * read a page of the facts matching a query
+   *
+   * @param tx to read in
+   * @param text to search for (plain text, any word may match)
+   * @param cursor where the previous page ended, null for the first page
+   * @param scan to convert relationships to facts with
+   * @return the page of facts (best match first) and where the next page starts
+   */
+  FactsPage page(Transaction tx, String text, PageCursor cursor, FactScan scan) {
+    var query = escape(text);
+    if (query.isBlank()) {
+      return new FactsPage(List.of(), null);
+    }
+    if (cursor != null) {
+      cursor.require(PageCursor.Kind.SCORE);
+    }
+
+    // fact relationship id -> score
+    var scores = new HashMap<Long, Double>();
+    search(
+        tx,
+        CYPHER_SEARCH_NODES,
+        query,
+        "node",
+        (Node node, Double score) ->
+            facts(tx, node).forEach(r -> scores.merge(r.getId(), score, Double::sum)));
+    search(
+        tx,
+        CYPHER_SEARCH_FACTS,
+        query,
+        "relationship",
+        (Relationship fact, Double score) -> scores.merge(fact.getId(), score, Double::sum));
+
+    // scores change as the index does -> the last read fact is placed by its current score (by the
+    // cursor's if it no longer matches)
+    var last =
+        cursor == null
+            ? null
+            : Map.entry(cursor.after, scores.getOrDefault(cursor.after, cursor.score));
+
+    // the best matches after the cursor, worst of them first (to be dropped by a better one)
+    var best = new PriorityQueue<Map.Entry<Long, Double>>(_pageSize + 1, RANK.reversed());
+    var remaining = 0;
+    for (var match : scores.entrySet()) {
+      if (last != null && RANK.compare(match, last) <= 0) {
+        continue;
+      }
+      remaining++;
+      best.add(match);
+      if (best.size() > _pageSize) {
+        best.poll();
+      }
+    }
+
+    var ranked = new ArrayList<>(best);
+    ranked.sort(RANK);
+
+    var facts = new ArrayList<Fact>(ranked.size());
+    for (var match : ranked) {
+      facts.add(scan.toFact(tx.getRelationshipById(match.getKey())));
+    }
+
+    if (remaining <= _pageSize) {
+      return new FactsPage(facts, null);
+    }
+    var end = ranked.get(ranked.size() - 1);
+    return new FactsPage(facts, PageCursor.score(end.getValue(), end.getKey()));
+  }
+
+  /**
+   * @param modifier of a fact
+   * @return its modifiers as searchable text (empty if it has none)
+   */
+  static String text(Modifier modifier) {
+    return Stream.of(modifier.subject, modifier.relationship, modifier.object)
+        .filter(m -> m != null && !m.isBlank())
+        .collect(Collectors.joining(" "));
+  }
+
+  /**
+   * runs a full-text query
+   *
+   * @param tx to read in
+   * @param cypher calling the index
+   * @param query to run
+   * @param column holding the hits
+   * @param onHit receives each hit with its score
+   * @param <T> type of the hits
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> void search(
+      Transaction tx, String cypher, String query, String column, BiConsumer<T, Double> onHit) {
+    try (var result = tx.execute(cypher, Map.of(QUERY, query))) {
+      while (result.hasNext()) {
+        var row = result.next();
+        onHit.accept((T) row.get(column), ((Number) row.get("score")).doubleValue());
+      }
+    }
+  }
+
+  /**
+   * @param tx to read in
+   * @param node hit (entity, alias or relationship catalog node)
+   * @return the fact relationships the node leads to
+   */
+  private static Iterable<Relationship> facts(Transaction tx, Node node) {
+    if (node.hasLabel(ENTITY_LABEL)) {
+      return node.getRelationships(RelTypes.f2_1);
+    }
+    if (node.hasLabel(ALIAS_LABEL)) {
+      var entity = node.getSingleRelationship(RelTypes.alias_of, Direction.OUTGOING).getEndNode();
+      return entity.getRelationships(RelTypes.f2_1);
+    }
+    if (node.hasLabel(RELATIONSHIP_LABEL)) {
+      return FactKeys.referencing(tx, node);
+    }
+    return List.of();
+  }
+
+  /**
+   * @param text to escape
+   * @return the text with the query syntax escaped so it is only searched for (lower cased, so
+   *     AND/OR/NOT are words rather than operators, the index is lower cased anyway)
+   */
+  static String escape(String text) {
+    var escaped = new StringBuilder(text.length());
+    for (var c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+      if (SPECIAL.indexOf(c) >= 0) {
+        escaped.append('\\');
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+}
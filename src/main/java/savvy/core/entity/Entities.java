@@ -1,21 +1,27 @@
 package savvy.core.entity;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.greenrobot.eventbus.EventBus;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Coalescer;
+import savvy.core.CoreExecutor;
+import savvy.core.Events;
 import savvy.core.db.Dao;
 import savvy.core.db.EmbeddedNeo4j;
 import savvy.core.entity.events.DoEntitiesFilter;
 import savvy.core.entity.events.DoEntitiesRead;
 import savvy.core.entity.events.DoEntityUpdate;
+import savvy.core.entity.events.EntitiesChanged;
 import savvy.core.entity.events.EntitiesFiltered;
 import savvy.core.entity.events.EntitiesRead;
 import savvy.core.entity.events.EntityUpdated;
@@ -25,12 +31,32 @@ import savvy.core.fact.events.FactUpdated;
 
 /** models a group of entities */
 public class Entities {
+  // key of entity reads, a newer read makes an older one stale
+  private static final String REFRESH = "entities.refresh";
+
+  // key of entity re-reads, re-reads requested together are made as one
+  private static final String REREAD = "entities.reread";
+
+  // maximum number of entities found by a fuzzy (misspelled) identifier
+  public static final int SIMILAR_LIMIT = 10;
+
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
-  private final Set<Entity> _items = new HashSet<>();
+  // by name
+  private final Map<String, Entity> _items = new HashMap<>();
+  private final EntityIndex _index = new EntityIndex();
 
+  // names of the entities waiting to be re-read
+  private final Set<String> _stale = new HashSet<>();
+
+  private final Events _events;
   private Dao _dao;
 
+  /** @param events bus to post & receive events on */
+  public Entities(Events events) {
+    _events = events;
+  }
+
   /**
    * given a collection of entities, finds and returns those that have a matching identifier
    *
@@ -43,6 +69,17 @@ public class Entities {
     return entities.stream().filter(i -> i.hasIdentifier(identifier)).collect(Collectors.toList());
   }
 
+  /**
+   * given an index of entities, finds and returns those that have a matching identifier
+   *
+   * @param entities to look up
+   * @param identifier to search for
+   * @return found entities list
+   */
+  public static List<Entity> getEntitiesWithIdentifier(EntityIndex entities, String identifier) {
+    return entities.withIdentifier(identifier);
+  }
+
   /**
    * creaets an entity based on an already existing one if it exists otherwise creates a new one
    *
@@ -51,6 +88,35 @@ public class Entities {
    * @return a found entity or a new one
    */
   public static EntityMapping mapEntity(Collection<Entity> entities, String identifier) {
+    return mapEntity(
+        identifier, i -> Entities.getEntitiesWithIdentifier(entities, i), i -> List.of());
+  }
+
+  /**
+   * creaets an entity based on an already existing one if it exists otherwise creates a new one
+   * (along with the existing entities it may have been a misspelling of)
+   *
+   * @param entities to look up
+   * @param identifier to find
+   * @return a found entity or a new one
+   */
+  public static EntityMapping mapEntity(EntityIndex entities, String identifier) {
+    return mapEntity(
+        identifier, entities::withIdentifier, i -> entities.similarTo(i, SIMILAR_LIMIT));
+  }
+
+  /**
+   * creaets an entity based on an already existing one if it exists otherwise creates a new one
+   *
+   * @param identifier to find
+   * @param lookup finds the entities with an identifier
+   * @param similar finds the entities with a similar identifier
+   * @return a found entity or a new one
+   */
+  private static EntityMapping mapEntity(
+      String identifier,
+      Function<String, List<Entity>> lookup,
+      Function<String, List<Entity>> similar) {
     Entity e;
     var m = "";
 
@@ -62,9 +128,12 @@ public class Entities {
     }
 
     // name exists verbatim -> use it
-    var found = Entities.getEntitiesWithIdentifier(entities, identifier);
+    var found = lookup.apply(identifier);
     if (found.isEmpty()) {
       e = new Entity(identifier, Set.of());
+
+      // new entity -> it may have been a misspelling of an existing one
+      return new EntityMapping(e, m, similar.apply(identifier));
     } else {
       e = found.get(0);
     }
@@ -78,18 +147,120 @@ public class Entities {
    * @return found entities list
    */
   public List<Entity> getEntitiesWithIdentifier(String identifier) {
-    return Entities.getEntitiesWithIdentifier(_items, identifier);
+    return _index.withIdentifier(identifier);
+  }
+
+  /**
+   * adds or replaces the entity with a given name (keeping the index in sync)
+   *
+   * @param name of the entity
+   * @param entity to store, null to remove it
+   * @return the entity previously stored under the name
+   */
+  private Entity put(String name, Entity entity) {
+    var previous = entity == null ? _items.remove(name) : _items.put(name, entity);
+    if (previous != null) {
+      _index.remove(previous);
+    }
+    if (entity != null) {
+      _index.add(entity);
+    }
+    return previous;
   }
 
   /**
-   * goes to the db to get an up-to-date version of all entities broadcasts the read event on the
-   * event bus
+   * replaces the items with an up-to-date version of all entities
+   *
+   * @param read all entities in the db
+   * @return sorted entities
    */
-  private List<Entity> refresh() {
+  private List<Entity> refresh(Set<Entity> read) {
     _items.clear();
-    _items.addAll(_dao.readAllEntities());
+    _index.clear();
+    read.forEach(e -> put(e.getName(), e));
+
+    return _items.values().stream().sorted().collect(Collectors.toList());
+  }
+
+  /**
+   * applies the current state of a few entities to the items (rather than re-reading all of them)
+   *
+   * @param names of the entities that may have changed
+   * @param read the current version of those still in the db
+   * @return the changes made
+   */
+  private EntitiesChanged apply(Set<String> names, Collection<Entity> read) {
+    var added = new HashSet<Entity>();
+    var removed = new HashSet<Entity>();
+    var changed = new HashMap<Entity, Entity>();
+
+    var current = new HashMap<String, Entity>();
+    read.forEach(e -> current.put(e.getName(), e));
+
+    for (var name : names) {
+      var next = current.get(name);
+      var previous = put(name, next);
+
+      if (previous == null && next != null) {
+        added.add(next);
+      } else if (previous != null && next == null) {
+        removed.add(previous);
+      } else if (previous != null && !previous.equals(next)) {
+        changed.put(previous, next);
+      }
+    }
+    return new EntitiesChanged(added, removed, changed);
+  }
+
+  /**
+   * re-reads a few entities then applies and broadcasts the changes on the event bus note: read on
+   * the write thread so it is ordered with the writes around it, re-reads requested in quick
+   * succession are coalesced into one
+   *
+   * @param names of the entities that may have changed
+   */
+  private void reread(Set<String> names) {
+    _stale.addAll(names);
+    Coalescer.getDefault()
+        .request(
+            REREAD,
+            () -> {
+              var stale = Set.copyOf(_stale);
+              _stale.clear();
+              CoreExecutor.getDefault()
+                  .write(() -> _dao.readEntities(stale), read -> post(apply(stale, read)));
+            });
+  }
 
-    return new ArrayList<>(_items).stream().sorted().collect(Collectors.toList());
+  /**
+   * broadcasts entity changes on the event bus (if there are any)
+   *
+   * @param changes to broadcast
+   */
+  private void post(EntitiesChanged changes) {
+    if (!changes.isEmpty()) {
+      _events.post(changes);
+    }
+  }
+
+  /**
+   * @param entities to get the names of
+   * @return the names
+   */
+  private static Set<String> names(Entity... entities) {
+    return Arrays.stream(entities).map(Entity::getName).collect(Collectors.toSet());
+  }
+
+  /**
+   * reads all entities off the UI thread then refreshes and broadcasts the read event on the event
+   * bus
+   */
+  private void refresh() {
+    CoreExecutor.getDefault()
+        .read(
+            REFRESH,
+            _dao::readAllEntities,
+            read -> _events.post(new EntitiesRead(refresh(read))));
   }
 
   /**
@@ -110,17 +281,19 @@ public class Entities {
   /**
    * broadcasts a filtered copy of contained Entity items on the event bus
    *
-   * @param filter the string filter to match against
+   * @param filter the string filter to match against, if no identifier matches it exactly the
+   *     entities with similar identifiers are used (most similar first)
    */
   private List<Entity> entitiesFilter(String filter) {
     if (filter.isBlank()) {
-      return _items.stream().sorted().collect(Collectors.toList());
-    } else {
-      return _items.stream()
-          .filter(i -> i.hasIdentifier(filter))
-          .sorted()
-          .collect(Collectors.toList());
+      return _items.values().stream().sorted().collect(Collectors.toList());
     }
+
+    var found = _index.withIdentifier(filter);
+    if (found.isEmpty()) {
+      return _index.similarTo(filter, SIMILAR_LIMIT);
+    }
+    return found.stream().sorted().collect(Collectors.toList());
   }
 
   // === events ==================================================================================\\
@@ -134,59 +307,63 @@ public class Entities {
     _dao = new Dao(en4j);
 
     // register with event bus
-    EventBus.getDefault().register(this);
+    _events.register(this);
 
-    var read = refresh();
-    EventBus.getDefault().post(new EntitiesRead(read));
+    // read before the UI is shown
+    var read = refresh(_dao.readAllEntities());
+    _events.post(new EntitiesRead(read));
   }
 
   // --- DO listeners ----------------------------------------------------------------------------\\
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoEntitiesRead ev) {
-    var read = refresh();
-    EventBus.getDefault().post(new EntitiesRead(read));
+    refresh();
   }
 
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoEntitiesFilter ev) {
     var entities = entitiesFilter(ev.filter);
-    EventBus.getDefault().post(new EntitiesFiltered(entities));
+    _events.post(new EntitiesFiltered(entities));
   }
 
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoEntityUpdate ev) {
-    var success = entityUpdate(ev.previous, ev.current);
-    if (success) {
-      EventBus.getDefault().post(new EntityUpdated(ev.previous, ev.current));
-    }
+    CoreExecutor.getDefault()
+        .write(
+            () -> entityUpdate(ev.previous, ev.current),
+            success -> {
+              if (success) {
+                _events.post(new EntityUpdated(ev.previous, ev.current));
+              }
+            });
   }
 
   // --- ON listeners ---------------------------------------------------------------------------\\
-  // fact created -> refresh
+  // fact created -> its entities are stored as given
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(FactCreated ev) {
-    var read = refresh();
-    EventBus.getDefault().post(new EntitiesRead(read));
+    post(apply(names(ev.fact.subject, ev.fact.object), List.of(ev.fact.subject, ev.fact.object)));
   }
 
-  // fact updated -> refresh
+  // fact updated -> re-read its entities (unused ones were removed)
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(FactUpdated ev) {
-    var read = refresh();
-    EventBus.getDefault().post(new EntitiesRead(read));
+    reread(names(ev.previous.subject, ev.previous.object, ev.current.subject, ev.current.object));
   }
 
-  // fact deleted -> refresh
+  // fact deleted -> re-read its entities (unused ones were removed)
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(FactDeleted ev) {
-    var read = refresh();
-    EventBus.getDefault().post(new EntitiesRead(read));
+    reread(names(ev.fact.subject, ev.fact.object));
   }
 
-  // entity updated -> refresh
+  // entity updated -> replace it
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(EntityUpdated ev) {
-    var read = refresh();
-    EventBus.getDefault().post(new EntitiesRead(read));
+    var previous = put(ev.previous.getName(), null);
+    put(ev.current.getName(), ev.current);
+
+    var changed = Map.of(previous == null ? ev.previous : previous, ev.current);
+    post(new EntitiesChanged(Set.of(), Set.of(), changed));
   }
 }
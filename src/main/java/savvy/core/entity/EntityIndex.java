@@ -0,0 +1,145 @@
+package savvy.core.entity;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A set of entities indexed by identifier (name and aliases), so finding the entities with a given
+ * identifier is a hash lookup rather than a scan of every entity. Identifiers are also indexed by
+ * trigram to find entities by a misspelled identifier. The indexes are kept in sync by every change
+ * to the set (add, remove, clear, iterator removal).
+ */
+public class EntityIndex extends AbstractSet<Entity> {
+  private final Set<Entity> _entities = new HashSet<>();
+  private final Map<String, List<Entity>> _byIdentifier = new HashMap<>();
+  private final Trigrams _trigrams = new Trigrams();
+
+  public EntityIndex() {}
+
+  /** @param entities to start with */
+  public EntityIndex(Iterable<Entity> entities) {
+    entities.forEach(this::add);
+  }
+
+  /**
+   * @param identifier name or alias to find
+   * @return the entities with the identifier (empty if there are none)
+   */
+  public List<Entity> withIdentifier(String identifier) {
+    return Collections.unmodifiableList(_byIdentifier.getOrDefault(identifier, List.of()));
+  }
+
+  /**
+   * @param identifier to find near matches of (e.g. a misspelled name or alias)
+   * @param limit maximum number of entities
+   * @return the entities with similar identifiers, most similar first
+   */
+  public List<Entity> similarTo(String identifier, int limit) {
+    var found = new LinkedHashSet<Entity>();
+    for (var similar : _trigrams.similarTo(identifier, limit)) {
+      for (var entity : _byIdentifier.get(similar)) {
+        if (found.size() < limit) {
+          found.add(entity);
+        }
+      }
+    }
+    return new ArrayList<>(found);
+  }
+
+  @Override
+  public boolean add(Entity entity) {
+    if (!_entities.add(entity)) {
+      return false;
+    }
+
+    for (var identifier : entity.getIdentifiers()) {
+      _byIdentifier
+          .computeIfAbsent(
+              identifier,
+              k -> {
+                _trigrams.add(k);
+                return new ArrayList<>(1);
+              })
+          .add(entity);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (!_entities.remove(o)) {
+      return false;
+    }
+
+    unindex((Entity) o);
+    return true;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return _entities.contains(o);
+  }
+
+  @Override
+  public void clear() {
+    _entities.clear();
+    _byIdentifier.clear();
+    _trigrams.clear();
+  }
+
+  @Override
+  public int size() {
+    return _entities.size();
+  }
+
+  @Override
+  public Iterator<Entity> iterator() {
+    var it = _entities.iterator();
+    return new Iterator<>() {
+      private Entity _last;
+
+      @Override
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      @Override
+      public Entity next() {
+        _last = it.next();
+        return _last;
+      }
+
+      @Override
+      public void remove() {
+        it.remove();
+        unindex(_last);
+      }
+    };
+  }
+
+  /**
+   * removes an entity from the identifier indexes
+   *
+   * @param entity to remove
+   */
+  private void unindex(Entity entity) {
+    for (var identifier : entity.getIdentifiers()) {
+      var found = _byIdentifier.get(identifier);
+      if (found != null) {
+        found.remove(entity);
+        if (found.isEmpty()) {
+          _byIdentifier.remove(identifier);
+          _trigrams.remove(identifier);
+        }
+      }
+    }
+  }
+}
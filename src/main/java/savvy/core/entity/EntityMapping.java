@@ -1,12 +1,20 @@
 package savvy.core.entity;
 
+import java.util.List;
+
 /** conveniently wraps relevant entity properties for verbatim views */
 public class EntityMapping {
   public final Entity entity;
   public final String modifiers;
+  public final List<Entity> similar; // "did you mean" entities if none matched
 
   public EntityMapping(Entity entity, String modifiers) {
+    this(entity, modifiers, List.of());
+  }
+
+  public EntityMapping(Entity entity, String modifiers, List<Entity> similar) {
     this.entity = entity;
     this.modifiers = modifiers;
+    this.similar = similar;
   }
 }
@@ -0,0 +1,196 @@
+package savvy.core.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from (case-insensitive) trigrams to the words containing them, used to find
+ * words similar to a misspelled one without measuring the distance to every word. Similarity is the
+ * Dice coefficient of the trigram sets: 2 * shared / (query grams + word grams).
+ *
+ * <p>words are numbered and postings hold those numbers; a removed word is only forgotten (its
+ * postings are skipped) until removed words outnumber the live ones and the index is rebuilt
+ *
+ * <p>note: grams are visited rarest first and, once a query has visited MAX_VISITS postings, only
+ * the MAX_CHECKS words sharing the most of them are compared in full; this bounds the cost of a
+ * query on a large index but may miss words that share little but common grams (i.e. dissimilar
+ * ones)
+ */
+final class Trigrams {
+  static final double MIN_SIMILARITY = 0.3;
+  static final int MAX_VISITS = 50_000;
+  static final int MAX_CHECKS = 500;
+  private static final int MIN_COMPACTION = 1_024;
+
+  private final Map<String, Postings> _postings = new HashMap<>();
+
+  // live words by number, and every word ever added by number (null once removed)
+  private final Map<String, Integer> _ids = new HashMap<>();
+  private final List<String> _words = new ArrayList<>();
+
+  // number of distinct grams of each word by number
+  private int[] _sizes = new int[16];
+  private int _removed;
+
+  /** @param word to index */
+  void add(String word) {
+    if (_ids.containsKey(word)) {
+      return;
+    }
+
+    var id = _words.size();
+    _ids.put(word, id);
+    _words.add(word);
+
+    var grams = grams(word);
+    grams.forEach(g -> _postings.computeIfAbsent(g, k -> new Postings()).add(id));
+
+    if (id == _sizes.length) {
+      _sizes = Arrays.copyOf(_sizes, id * 2);
+    }
+    _sizes[id] = grams.size();
+  }
+
+  /** @param word to stop indexing */
+  void remove(String word) {
+    var id = _ids.remove(word);
+    if (id == null) {
+      return;
+    }
+
+    _words.set(id, null);
+    _removed++;
+    if (_removed > MIN_COMPACTION && _removed > _ids.size()) {
+      var live = new ArrayList<>(_ids.keySet());
+      clear();
+      live.forEach(this::add);
+    }
+  }
+
+  void clear() {
+    _postings.clear();
+    _ids.clear();
+    _words.clear();
+    _sizes = new int[16];
+    _removed = 0;
+  }
+
+  /**
+   * finds the indexed words most similar to a query
+   *
+   * @param query to match (e.g. a misspelled word)
+   * @param limit maximum number of words
+   * @return words at least MIN_SIMILARITY similar to the query, most similar first
+   */
+  List<String> similarTo(String query, int limit) {
+    var queryGrams = grams(query);
+    var grams = new ArrayList<Postings>();
+    for (var gram : queryGrams) {
+      grams.add(_postings.getOrDefault(gram, Postings.EMPTY));
+    }
+    grams.sort(Comparator.comparingInt(p -> p.size));
+
+    var size = grams.size();
+    var minShared = (int) Math.ceil(MIN_SIMILARITY * size / 2);
+
+    // count the grams shared with each word, rarest grams first
+    var shared = new HashMap<Integer, Integer>();
+    var visits = 0;
+    var i = 0;
+    for (; i < size && visits + grams.get(i).size <= MAX_VISITS; i++) {
+      var postings = grams.get(i);
+      for (var j = 0; j < postings.size; j++) {
+        shared.merge(postings.ids[j], 1, Integer::sum);
+      }
+      visits += postings.size;
+    }
+
+    // over budget -> count the grams of the most promising words directly
+    if (i < size) {
+      var remaining = size - i;
+      var checks = new ArrayList<Map.Entry<Integer, Integer>>();
+      shared.entrySet().stream()
+          .filter(e -> e.getValue() + remaining >= minShared)
+          .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed())
+          .limit(MAX_CHECKS)
+          .forEach(checks::add);
+
+      shared.clear();
+      for (var check : checks) {
+        var id = check.getKey();
+        shared.put(id, sharedGrams(queryGrams, _words.get(id)));
+      }
+    }
+
+    var scored = new ArrayList<Map.Entry<String, Double>>();
+    shared.forEach(
+        (id, count) -> {
+          var word = _words.get(id);
+          var similarity = 2.0 * count / (size + _sizes[id]);
+          if (word != null && similarity >= MIN_SIMILARITY) {
+            scored.add(Map.entry(word, similarity));
+          }
+        });
+
+    scored.sort(
+        Map.Entry.<String, Double>comparingByValue()
+            .reversed()
+            .thenComparing(Map.Entry.comparingByKey()));
+
+    var found = new ArrayList<String>(Math.min(limit, scored.size()));
+    for (var j = 0; j < scored.size() && j < limit; j++) {
+      found.add(scored.get(j).getKey());
+    }
+    return found;
+  }
+
+  /**
+   * @param word to split
+   * @return the distinct trigrams of a word (lower cased, padded to mark its start & end)
+   */
+  static Set<String> grams(String word) {
+    var padded = "  " + word.toLowerCase(Locale.ROOT) + " ";
+    var grams = new HashSet<String>();
+    for (var i = 0; i + 3 <= padded.length(); i++) {
+      grams.add(padded.substring(i, i + 3));
+    }
+    return grams;
+  }
+
+  /**
+   * @param grams of a query
+   * @param word to compare (null if removed)
+   * @return the number of grams the word shares with the query
+   */
+  private static int sharedGrams(Set<String> grams, String word) {
+    if (word == null) {
+      return 0;
+    }
+
+    var wordGrams = grams(word);
+    wordGrams.retainAll(grams);
+    return wordGrams.size();
+  }
+
+  /** a growable list of word numbers */
+  private static final class Postings {
+    static final Postings EMPTY = new Postings();
+
+    int[] ids = new int[4];
+    int size;
+
+    void add(int id) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size++] = id;
+    }
+  }
+}
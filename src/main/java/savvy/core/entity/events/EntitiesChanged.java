@@ -0,0 +1,40 @@
+package savvy.core.entity.events;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import savvy.core.entity.Entity;
+
+/** fired when some entities were added, removed or changed (rather than re-reading all of them) */
+public final class EntitiesChanged {
+  public final Set<Entity> added;
+  public final Set<Entity> removed;
+  public final Map<Entity, Entity> changed; // previous -> current
+  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+
+  public EntitiesChanged(Set<Entity> added, Set<Entity> removed, Map<Entity, Entity> changed) {
+    log.info("added: {}, removed: {}, changed: {}", added.size(), removed.size(), changed.size());
+    this.added = added;
+    this.removed = removed;
+    this.changed = changed;
+  }
+
+  /** @return true if nothing changed */
+  public boolean isEmpty() {
+    return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+  }
+
+  /**
+   * applies the changes to a collection of entities
+   *
+   * @param entities to update
+   */
+  public void applyTo(Collection<Entity> entities) {
+    entities.removeAll(removed);
+    entities.removeAll(changed.keySet());
+    entities.addAll(added);
+    entities.addAll(changed.values());
+  }
+}
@@ -0,0 +1,267 @@
+package savvy.core.fact;
+
+import java.util.Arrays;
+
+/**
+ * The facts connecting entities (ignoring direction), kept up to date as facts are added & removed.
+ * A compressed sparse row base lists the facts of entity n at positions offsets[n] up to
+ * offsets[n + 1], each with the edge id of the fact and the entity at its other end. Facts added
+ * since the base was built are chained per entity in an overlay (at positions after the base), a
+ * removed fact is left in place as a tombstone (its edge id no longer has a row) and skipped. Once
+ * the overlay & tombstones reach a quarter of the base, they are folded into a new base. A fact
+ * relating an entity to itself is listed once.
+ *
+ * <p>edge ids are stable while rows move (see FactTable), so each edge id maps to its current row
+ */
+final class Adjacency {
+  // the overlay & tombstones are folded into the base once they reach base / COMPACT_RATIO
+  // positions (and at least MIN_COMPACT, so small tables are not rebuilt on every change)
+  private static final int COMPACT_RATIO = 4;
+  private static final int MIN_COMPACT = 1_024;
+
+  // base
+  private int[] _offsets;
+  private int[] _edges;
+  private int[] _others;
+  private int _baseEntities;
+
+  // overlay: first added position of each entity (-1 if none) and the one added before each
+  private int[] _heads;
+  private int[] _addedEdges = new int[16];
+  private int[] _addedOthers = new int[16];
+  private int[] _addedNext = new int[16];
+  private int _added = 0;
+
+  // positions of removed facts still listed
+  private int _tombstones = 0;
+
+  // live facts of each entity
+  private int[] _degrees;
+  private int _entities;
+
+  // current row of each edge id, -1 if it was removed (or never given)
+  private int[] _rows;
+
+  /**
+   * @param entities number of entity ids
+   * @param size number of rows
+   * @param subjects subject entity id of each row
+   * @param objects object entity id of each row
+   * @param edgeIds stable id of the fact in each row
+   */
+  Adjacency(int entities, int size, int[] subjects, int[] objects, int[] edgeIds) {
+    _entities = entities;
+    _degrees = new int[Math.max(16, entities)];
+    _heads = new int[_degrees.length];
+    Arrays.fill(_heads, -1);
+
+    var maxEdgeId = -1;
+    for (var row = 0; row < size; row++) {
+      _degrees[subjects[row]]++;
+      if (objects[row] != subjects[row]) {
+        _degrees[objects[row]]++;
+      }
+      maxEdgeId = Math.max(maxEdgeId, edgeIds[row]);
+    }
+    _rows = new int[Math.max(16, maxEdgeId + 1)];
+    Arrays.fill(_rows, -1);
+
+    _offsets = offsets();
+    _edges = new int[_offsets[entities]];
+    _others = new int[_offsets[entities]];
+    var next = Arrays.copyOf(_offsets, entities);
+    for (var row = 0; row < size; row++) {
+      var s = subjects[row];
+      var o = objects[row];
+      _rows[edgeIds[row]] = row;
+      _edges[next[s]] = edgeIds[row];
+      _others[next[s]++] = o;
+      if (o != s) {
+        _edges[next[o]] = edgeIds[row];
+        _others[next[o]++] = s;
+      }
+    }
+    _baseEntities = entities;
+  }
+
+  /**
+   * lists a new fact
+   *
+   * @param edgeId of the fact
+   * @param row of the fact
+   * @param subject entity id
+   * @param object entity id
+   */
+  void add(int edgeId, int row, int subject, int object) {
+    ensureEntities(Math.max(subject, object) + 1);
+    if (edgeId >= _rows.length) {
+      var capacity = Math.max(edgeId + 1, _rows.length * 2);
+      var previous = _rows.length;
+      _rows = Arrays.copyOf(_rows, capacity);
+      Arrays.fill(_rows, previous, capacity, -1);
+    }
+    _rows[edgeId] = row;
+
+    append(subject, edgeId, object);
+    if (object != subject) {
+      append(object, edgeId, subject);
+    }
+    compactIfFull();
+  }
+
+  /**
+   * leaves a removed fact as a tombstone
+   *
+   * @param edgeId of the fact
+   * @param subject entity id
+   * @param object entity id
+   */
+  void remove(int edgeId, int subject, int object) {
+    _rows[edgeId] = -1;
+    _degrees[subject]--;
+    _tombstones++;
+    if (object != subject) {
+      _degrees[object]--;
+      _tombstones++;
+    }
+    compactIfFull();
+  }
+
+  /**
+   * @param edgeId of a fact
+   * @param row the fact moved to
+   */
+  void move(int edgeId, int row) {
+    _rows[edgeId] = row;
+  }
+
+  /** @param entities number of entity ids to hold (the ones it does not list yet have no facts) */
+  void ensureEntities(int entities) {
+    if (entities > _degrees.length) {
+      var capacity = Math.max(entities, _degrees.length * 2);
+      var previous = _heads.length;
+      _degrees = Arrays.copyOf(_degrees, capacity);
+      _heads = Arrays.copyOf(_heads, capacity);
+      Arrays.fill(_heads, previous, capacity, -1);
+    }
+    _entities = Math.max(_entities, entities);
+  }
+
+  /** @return the number of entity ids */
+  int entities() {
+    return _entities;
+  }
+
+  /** @return the number of facts an entity takes part in */
+  int degree(int entity) {
+    return entity < _entities ? _degrees[entity] : 0;
+  }
+
+  /** @return the position of an entity's first fact, -1 if it has none */
+  int first(int entity) {
+    if (entity < _baseEntities) {
+      for (var p = _offsets[entity]; p < _offsets[entity + 1]; p++) {
+        if (_rows[_edges[p]] >= 0) {
+          return p;
+        }
+      }
+    }
+    return liveAdded(_heads[entity]);
+  }
+
+  /**
+   * @param entity whose facts are read
+   * @param position of one of its facts
+   * @return the position of its fact after that one, -1 if there is none
+   */
+  int next(int entity, int position) {
+    if (position >= _edges.length) {
+      return liveAdded(_addedNext[position - _edges.length]);
+    }
+
+    for (var p = position + 1; p < _offsets[entity + 1]; p++) {
+      if (_rows[_edges[p]] >= 0) {
+        return p;
+      }
+    }
+    return liveAdded(_heads[entity]);
+  }
+
+  /** @return the edge id of the fact at a position */
+  int edge(int position) {
+    return position < _edges.length ? _edges[position] : _addedEdges[position - _edges.length];
+  }
+
+  /** @return the row of the fact at a position */
+  int row(int position) {
+    return _rows[edge(position)];
+  }
+
+  /** @return the entity at the other end of the fact at a position */
+  int other(int position) {
+    return position < _edges.length ? _others[position] : _addedOthers[position - _edges.length];
+  }
+
+  /**
+   * @param added overlay index to start at, -1 for none
+   * @return the position of the first live fact from there on, -1 if there is none
+   */
+  private int liveAdded(int added) {
+    for (var a = added; a >= 0; a = _addedNext[a]) {
+      if (_rows[_addedEdges[a]] >= 0) {
+        return _edges.length + a;
+      }
+    }
+    return -1;
+  }
+
+  /** chains a fact to the front of an entity's overlay */
+  private void append(int entity, int edgeId, int other) {
+    if (_added == _addedEdges.length) {
+      var capacity = _added * 2;
+      _addedEdges = Arrays.copyOf(_addedEdges, capacity);
+      _addedOthers = Arrays.copyOf(_addedOthers, capacity);
+      _addedNext = Arrays.copyOf(_addedNext, capacity);
+    }
+    _addedEdges[_added] = edgeId;
+    _addedOthers[_added] = other;
+    _addedNext[_added] = _heads[entity];
+    _heads[entity] = _added++;
+    _degrees[entity]++;
+  }
+
+  /** folds the overlay & tombstones into a new base once they have grown too large */
+  private void compactIfFull() {
+    if (_added + _tombstones < Math.max(MIN_COMPACT, _edges.length / COMPACT_RATIO)) {
+      return;
+    }
+
+    var offsets = offsets();
+    var edges = new int[offsets[_entities]];
+    var others = new int[offsets[_entities]];
+    for (var n = 0; n < _entities; n++) {
+      var i = offsets[n];
+      for (var p = first(n); p >= 0; p = next(n, p)) {
+        edges[i] = edge(p);
+        others[i++] = other(p);
+      }
+    }
+
+    _offsets = offsets;
+    _edges = edges;
+    _others = others;
+    _baseEntities = _entities;
+    Arrays.fill(_heads, -1);
+    _added = 0;
+    _tombstones = 0;
+  }
+
+  /** @return the base offsets of every entity's live facts */
+  private int[] offsets() {
+    var offsets = new int[_entities + 1];
+    for (var n = 0; n < _entities; n++) {
+      offsets[n + 1] = offsets[n] + _degrees[n];
+    }
+    return offsets;
+  }
+}
@@ -1,15 +1,21 @@
 package savvy.core.fact;
 
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.Set;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import savvy.core.entity.Entity;
 import savvy.core.relationship.Relationship;
 
-/** represents a Fact that relates a particular subject entity with an object entity */
+/**
+ * represents a Fact that relates a particular subject entity with an object entity note: facts are
+ * ordered by subject, relationship and object name (then modifier)
+ */
 public class Fact implements Comparable<Fact> {
-  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+  private static final Comparator<Fact> ORDER =
+      Comparator.<Fact, String>comparing(f -> f.subject.getName())
+          .thenComparing(f -> f.relationship.getName())
+          .thenComparing(f -> f.object.getName())
+          .thenComparing(f -> f.modifier);
 
   public final Entity subject;
   public final Relationship relationship;
@@ -73,6 +79,6 @@ public class Fact implements Comparable<Fact> {
 
   @Override
   public int compareTo(Fact o) {
-    return this.toString().compareTo(o.toString());
+    return ORDER.compare(this, o);
   }
 }
@@ -0,0 +1,671 @@
+package savvy.core.fact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import savvy.core.db.FactsPage;
+import savvy.core.db.NeighbourhoodOptions;
+import savvy.core.db.PageCursor;
+import savvy.core.db.PathOptions;
+import savvy.core.entity.Entity;
+import savvy.core.relationship.Relationship;
+
+/**
+ * Holds every fact in memory as a row of dictionary ids. Entities, relationships and modifiers are
+ * each stored once in a dictionary, the rows are parallel int arrays (subject, relationship, object
+ * & modifier ids) along with an open-addressing index of the rows, so a fact costs about 32 bytes.
+ * Facts are only built for the rows read (e.g. the page shown).
+ *
+ * <p>rows are kept unordered, the sorted order (subject, relationship & object name, then modifier)
+ * is computed when first asked for by sorting packed rank keys, then kept up to date: an added row
+ * is inserted at its place (found by binary search) and a removed one taken out. So is an adjacency
+ * of the rows (see Adjacency, which lists added facts in an overlay and leaves removed ones as
+ * tombstones), which serves related facts & paths without reading the db. Each row also has an edge
+ * id, which is kept when rows move (and when the facts are reloaded into a new table) so a page of
+ * related facts can resume after the last one read. The number of facts using each relationship is
+ * counted as rows are added & removed.
+ *
+ * <p>note: dictionary entries are never removed, an entity or relationship no longer used by any
+ * fact is dropped on the next load
+ *
+ * <p>note: searches sort & build the snapshots while holding the table, so rows are only changed
+ * on the write thread (never the UI thread, which would wait on them)
+ */
+final class FactTable {
+  private static final int INITIAL_CAPACITY = 1_024;
+
+  // dictionaries (entities & relationships by name)
+  private final Dictionary<Entity, String> _entities = new Dictionary<>(Entity::getName);
+  private final Dictionary<Relationship, String> _relationships =
+      new Dictionary<>(Relationship::getName);
+  private final Dictionary<Modifier, Modifier> _modifiers = new Dictionary<>(m -> m);
+
+  // rows
+  private int[] _subjects = new int[INITIAL_CAPACITY];
+  private int[] _relationshipIds = new int[INITIAL_CAPACITY];
+  private int[] _objects = new int[INITIAL_CAPACITY];
+  private int[] _modifierIds = new int[INITIAL_CAPACITY];
+  private int[] _edgeIds = new int[INITIAL_CAPACITY];
+  private int _size = 0;
+  private int _nextEdgeId = 0;
+
+  // number of rows using each relationship id
+  private int[] _relationshipCounts = new int[16];
+
+  // row index: row + 1 in the slot its ids hash to (0 is an empty slot), linear probing
+  private int[] _slots = new int[INITIAL_CAPACITY * 2];
+
+  // rows in sorted order (the first size of them), null until first asked for
+  private int[] _order = null;
+
+  // facts of each entity & the search over them (which keeps its marks between searches), null
+  // until first asked for
+  private Adjacency _adjacency = null;
+  private GraphSearch _search = null;
+
+  /**
+   * replaces the rows with the facts read from the db
+   *
+   * @param scan visits every fact
+   */
+  synchronized void load(Consumer<Consumer<Fact>> scan) {
+    clear();
+    scan.accept(this::add);
+  }
+
+  /**
+   * replaces the rows with the facts read from the db, the facts a previous table also holds keep
+   * their edge ids (new ones get ids it never gave) so its page cursors resume in this table
+   *
+   * @param scan visits every fact
+   * @param previous table of the same facts
+   */
+  synchronized void load(Consumer<Consumer<Fact>> scan, FactTable previous) {
+    clear();
+    _nextEdgeId = previous.nextEdgeId();
+    scan.accept(fact -> add(fact, previous.edgeIdOf(fact)));
+  }
+
+  /** removes every row & dictionary entry */
+  synchronized void clear() {
+    _entities.clear();
+    _relationships.clear();
+    _modifiers.clear();
+    _subjects = new int[INITIAL_CAPACITY];
+    _relationshipIds = new int[INITIAL_CAPACITY];
+    _objects = new int[INITIAL_CAPACITY];
+    _modifierIds = new int[INITIAL_CAPACITY];
+    _edgeIds = new int[INITIAL_CAPACITY];
+    _relationshipCounts = new int[16];
+    _slots = new int[INITIAL_CAPACITY * 2];
+    _size = 0;
+    _nextEdgeId = 0;
+    _order = null;
+    _adjacency = null;
+    _search = null;
+  }
+
+  /** @return the number of facts */
+  synchronized int size() {
+    return _size;
+  }
+
+  /**
+   * adds a fact
+   *
+   * @param fact to add
+   * @return true if it was added, false if it was already there
+   */
+  synchronized boolean add(Fact fact) {
+    return add(fact, -1);
+  }
+
+  /**
+   * @param fact to add
+   * @param edgeId of its row, -1 for a new one
+   * @return true if it was added, false if it was already there
+   */
+  private boolean add(Fact fact, int edgeId) {
+    var s = _entities.idOf(fact.subject);
+    var r = _relationships.idOf(fact.relationship);
+    var o = _entities.idOf(fact.object);
+    var m = _modifiers.idOf(fact.modifier);
+    if (slotOf(s, r, o, m) >= 0) {
+      return false;
+    }
+
+    if (_size == _subjects.length) {
+      grow();
+    }
+    var row = _size;
+    _subjects[row] = s;
+    _relationshipIds[row] = r;
+    _objects[row] = o;
+    _modifierIds[row] = m;
+    _edgeIds[row] = edgeId < 0 ? _nextEdgeId++ : edgeId;
+    _slots[freeSlot(s, r, o, m)] = ++_size;
+
+    if (r == _relationshipCounts.length) {
+      _relationshipCounts = Arrays.copyOf(_relationshipCounts, r * 2);
+    }
+    _relationshipCounts[r]++;
+
+    if (_order != null) {
+      insertOrdered(row);
+    }
+    if (_adjacency != null) {
+      _adjacency.add(_edgeIds[row], row, s, o);
+    }
+    return true;
+  }
+
+  /**
+   * removes a fact
+   *
+   * @param fact to remove
+   * @return true if it was removed, false if it was not there
+   */
+  synchronized boolean remove(Fact fact) {
+    var slot = slotOf(fact);
+    if (slot < 0) {
+      return false;
+    }
+
+    var row = _slots[slot] - 1;
+    var last = _size - 1;
+    unslot(slot);
+    _relationshipCounts[_relationshipIds[row]]--;
+
+    if (_order != null) {
+      removeOrdered(row, last);
+    }
+    if (_adjacency != null) {
+      _adjacency.remove(_edgeIds[row], _subjects[row], _objects[row]);
+      if (row != last) {
+        _adjacency.move(_edgeIds[last], row);
+      }
+    }
+
+    // move the last row into the hole
+    _size--;
+    if (row != last) {
+      var moved =
+          slotOf(_subjects[last], _relationshipIds[last], _objects[last], _modifierIds[last]);
+      _slots[moved] = row + 1;
+      _subjects[row] = _subjects[last];
+      _relationshipIds[row] = _relationshipIds[last];
+      _objects[row] = _objects[last];
+      _modifierIds[row] = _modifierIds[last];
+      _edgeIds[row] = _edgeIds[last];
+    }
+    return true;
+  }
+
+  /**
+   * replaces the stored version of an entity with the same name (e.g. with other aliases)
+   *
+   * @param entity current version
+   */
+  synchronized void replace(Entity entity) {
+    _entities.replace(entity);
+  }
+
+  /**
+   * reads a page of the facts in sorted order
+   *
+   * @param offset number of facts before the page
+   * @param limit most facts to read
+   * @return the facts on the page
+   */
+  synchronized List<Fact> page(int offset, int limit) {
+    var order = order();
+    var to = (int) Math.min((long) offset + limit, _size);
+
+    var facts = new ArrayList<Fact>(Math.max(0, to - offset));
+    for (var i = offset; i < to; i++) {
+      facts.add(factAt(order[i]));
+    }
+    return facts;
+  }
+
+  /**
+   * reads a page of the facts around an entity, nearest first
+   *
+   * @param name of the entity at the centre
+   * @param options depth of the neighbourhood and size of the page
+   * @param cursor where the previous page ended, null for the first page
+   * @return the facts on the page and where the next page starts
+   */
+  synchronized FactsPage related(String name, NeighbourhoodOptions options, PageCursor cursor) {
+    var entity = _entities.findKey(name);
+    if (entity < 0) {
+      return new FactsPage(List.of(), null);
+    }
+
+    var page = search().neighbourhood(entity, options, cursor);
+    var facts = new ArrayList<Fact>(page.rows.size());
+    page.rows.forEach(row -> facts.add(factAt(row)));
+    return new FactsPage(facts, page.next);
+  }
+
+  /**
+   * finds the facts on the paths between two entities
+   *
+   * @param from name of the start entity
+   * @param to name of the end entity
+   * @param options bounds for the search
+   * @return the facts on the paths found
+   */
+  synchronized Set<Fact> between(String from, String to, PathOptions options) {
+    var facts = new HashSet<Fact>();
+    var f = _entities.findKey(from);
+    var t = _entities.findKey(to);
+    if (f < 0 || t < 0) {
+      return facts;
+    }
+
+    for (var path : search().paths(f, t, options)) {
+      for (var row : path) {
+        facts.add(factAt(row));
+      }
+    }
+    return facts;
+  }
+
+  /**
+   * @param name of an entity
+   * @return the number of facts it takes part in
+   */
+  synchronized int degree(String name) {
+    var entity = _entities.findKey(name);
+    return entity < 0 ? 0 : adjacency().degree(entity);
+  }
+
+  /**
+   * @param names of relationships
+   * @return the ones still used by a fact, with their number of facts
+   */
+  synchronized Map<Relationship, Long> counts(Collection<String> names) {
+    var counts = new HashMap<Relationship, Long>();
+    for (var name : names) {
+      var r = _relationships.findKey(name);
+      if (r >= 0 && _relationshipCounts[r] > 0) {
+        counts.put(_relationships.get(r), (long) _relationshipCounts[r]);
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * @param fact to find
+   * @return the edge id of its row, -1 if it is not there
+   */
+  private synchronized int edgeIdOf(Fact fact) {
+    var slot = slotOf(fact);
+    return slot < 0 ? -1 : _edgeIds[_slots[slot] - 1];
+  }
+
+  /** @return the edge id the next new row gets */
+  private synchronized int nextEdgeId() {
+    return _nextEdgeId;
+  }
+
+  /** @return the search of the current rows */
+  private GraphSearch search() {
+    var adjacency = adjacency();
+    if (_search == null) {
+      _search = new GraphSearch(adjacency);
+    }
+    return _search;
+  }
+
+  /** @return the facts of each entity */
+  private Adjacency adjacency() {
+    if (_adjacency == null) {
+      _adjacency = new Adjacency(_entities.size(), _size, _subjects, _objects, _edgeIds);
+    }
+    // entities of facts that were already there are added without a row
+    _adjacency.ensureEntities(_entities.size());
+    return _adjacency;
+  }
+
+  /**
+   * @param row to build the fact of
+   * @return the fact stored in the row
+   */
+  private Fact factAt(int row) {
+    return new Fact(
+        _entities.get(_subjects[row]),
+        _relationships.get(_relationshipIds[row]),
+        _entities.get(_objects[row]),
+        _modifiers.get(_modifierIds[row]));
+  }
+
+  /**
+   * sorts the rows by the ranks of their ids, packing as many columns into each sort key as fit
+   * (usually all of them, so one sort is enough). Columns that do not fit are sorted in earlier
+   * passes, least significant first, ties keep their position from the previous pass.
+   *
+   * @return the rows in sorted order
+   */
+  private int[] order() {
+    if (_order != null) {
+      return _order;
+    }
+
+    var entities = _entities.ranks();
+    var relationships = _relationships.ranks();
+    var modifiers = _modifiers.ranks();
+
+    // most significant first
+    var columns = List.of(_subjects, _relationshipIds, _objects, _modifierIds);
+    var ranks = List.of(entities, relationships, entities, modifiers);
+
+    var order = new int[_size];
+    Arrays.setAll(order, i -> i);
+
+    var positionBits = bits(_size);
+    var last = columns.size();
+    while (last > 0) {
+      // the columns that fit in a key along with the position, at least one
+      var first = last - 1;
+      var keyBits = positionBits + bits(ranks.get(first).length);
+      while (first > 0 && keyBits + bits(ranks.get(first - 1).length) <= 63) {
+        keyBits += bits(ranks.get(--first).length);
+      }
+      order = sort(order, columns.subList(first, last), ranks.subList(first, last), positionBits);
+      last = first;
+    }
+
+    _order = order;
+    return order;
+  }
+
+  /**
+   * places a new row in the sorted order
+   *
+   * @param row added (the last one)
+   */
+  private void insertOrdered(int row) {
+    var count = _size - 1;
+    if (count == _order.length) {
+      _order = Arrays.copyOf(_order, Math.max(INITIAL_CAPACITY, count * 2));
+    }
+
+    var at = -ordered(row, count) - 1;
+    System.arraycopy(_order, at, _order, at + 1, count - at);
+    _order[at] = row;
+  }
+
+  /**
+   * takes a row out of the sorted order before it is removed, the last row takes its place
+   *
+   * @param row to remove
+   * @param last row (moved into the removed one's place)
+   */
+  private void removeOrdered(int row, int last) {
+    var at = ordered(row, _size);
+    System.arraycopy(_order, at + 1, _order, at, _size - at - 1);
+    if (row != last) {
+      _order[ordered(last, _size - 1)] = row;
+    }
+  }
+
+  /**
+   * binary search of the sorted order
+   *
+   * @param row to find
+   * @param count of rows in the order
+   * @return the position of the row in the order, or (-(the position it belongs at) - 1)
+   */
+  private int ordered(int row, int count) {
+    var low = 0;
+    var high = count - 1;
+    while (low <= high) {
+      var mid = (low + high) >>> 1;
+      var c = compare(_order[mid], row);
+      if (c < 0) {
+        low = mid + 1;
+      } else if (c > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  /**
+   * @param a row
+   * @param b row
+   * @return how the rows compare in the sorted order (by their keys, like the ranks)
+   */
+  private int compare(int a, int b) {
+    var c = _entities.keyOf(_subjects[a]).compareTo(_entities.keyOf(_subjects[b]));
+    if (c == 0) {
+      c =
+          _relationships
+              .keyOf(_relationshipIds[a])
+              .compareTo(_relationships.keyOf(_relationshipIds[b]));
+    }
+    if (c == 0) {
+      c = _entities.keyOf(_objects[a]).compareTo(_entities.keyOf(_objects[b]));
+    }
+    if (c == 0) {
+      c = _modifiers.keyOf(_modifierIds[a]).compareTo(_modifiers.keyOf(_modifierIds[b]));
+    }
+    return c;
+  }
+
+  /**
+   * @param order rows in their current order
+   * @param columns to sort the rows by (most significant first)
+   * @param ranks of each column's ids
+   * @param positionBits bits holding a row's position in the key
+   * @return the rows sorted by the ranks of their ids in the columns (ties keep their order)
+   */
+  private static int[] sort(
+      int[] order, List<int[]> columns, List<int[]> ranks, int positionBits) {
+    var keys = new long[order.length];
+    for (var i = 0; i < order.length; i++) {
+      var key = 0L;
+      for (var c = 0; c < columns.size(); c++) {
+        var rank = ranks.get(c);
+        key = key << bits(rank.length) | rank[columns.get(c)[order[i]]];
+      }
+      keys[i] = key << positionBits | i;
+    }
+    Arrays.sort(keys);
+
+    var mask = (1L << positionBits) - 1;
+    var sorted = new int[order.length];
+    for (var i = 0; i < keys.length; i++) {
+      sorted[i] = order[(int) (keys[i] & mask)];
+    }
+    return sorted;
+  }
+
+  /**
+   * @param count of distinct values
+   * @return the bits needed to hold any of the values 0 to count - 1
+   */
+  private static int bits(int count) {
+    return Math.max(1, 32 - Integer.numberOfLeadingZeros(count - 1));
+  }
+
+  /** doubles the capacity of the rows & the index */
+  private void grow() {
+    var capacity = _subjects.length * 2;
+    _subjects = Arrays.copyOf(_subjects, capacity);
+    _relationshipIds = Arrays.copyOf(_relationshipIds, capacity);
+    _objects = Arrays.copyOf(_objects, capacity);
+    _modifierIds = Arrays.copyOf(_modifierIds, capacity);
+    _edgeIds = Arrays.copyOf(_edgeIds, capacity);
+
+    _slots = new int[capacity * 2];
+    for (var row = 0; row < _size; row++) {
+      _slots[freeSlot(_subjects[row], _relationshipIds[row], _objects[row], _modifierIds[row])] =
+          row + 1;
+    }
+  }
+
+  /** @return the slot a row with the given ids hashes to */
+  private int home(int s, int r, int o, int m) {
+    var h = ((s * 31 + r) * 31 + o) * 31 + m;
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    return h & (_slots.length - 1);
+  }
+
+  /** @return the slot holding the row of a fact, -1 if there is none */
+  private int slotOf(Fact fact) {
+    var s = _entities.find(fact.subject);
+    var r = _relationships.find(fact.relationship);
+    var o = _entities.find(fact.object);
+    var m = _modifiers.find(fact.modifier);
+    return s < 0 || r < 0 || o < 0 || m < 0 ? -1 : slotOf(s, r, o, m);
+  }
+
+  /** @return the slot holding the row with the given ids, -1 if there is none */
+  private int slotOf(int s, int r, int o, int m) {
+    var mask = _slots.length - 1;
+    for (var slot = home(s, r, o, m); _slots[slot] != 0; slot = (slot + 1) & mask) {
+      var row = _slots[slot] - 1;
+      if (_subjects[row] == s
+          && _relationshipIds[row] == r
+          && _objects[row] == o
+          && _modifierIds[row] == m) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /** @return the first empty slot for a row with the given ids */
+  private int freeSlot(int s, int r, int o, int m) {
+    var mask = _slots.length - 1;
+    var slot = home(s, r, o, m);
+    while (_slots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * empties a slot, shifting back the rows probed past it so none becomes unreachable
+   *
+   * @param slot to empty
+   */
+  private void unslot(int slot) {
+    var mask = _slots.length - 1;
+    var hole = slot;
+    for (var next = (hole + 1) & mask; _slots[next] != 0; next = (next + 1) & mask) {
+      var row = _slots[next] - 1;
+      var home = home(_subjects[row], _relationshipIds[row], _objects[row], _modifierIds[row]);
+
+      // the row can move into the hole unless its home lies cyclically within (hole, next]
+      var reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+      if (!reachable) {
+        _slots[hole] = _slots[next];
+        hole = next;
+      }
+    }
+    _slots[hole] = 0;
+  }
+
+  /**
+   * Gives each distinct value (by key) an int id, in the order first added. Values are ranked in
+   * the order of their keys, the ranks are kept until a value is added.
+   *
+   * @param <T> type of the values
+   * @param <K> type of their keys
+   */
+  private static final class Dictionary<T, K extends Comparable<? super K>> {
+    private final Function<T, K> _key;
+    private final Map<K, Integer> _ids = new HashMap<>();
+    private final List<T> _values = new ArrayList<>();
+    private int[] _ranks = null;
+
+    Dictionary(Function<T, K> key) {
+      _key = key;
+    }
+
+    /** @return the id of a value, added if it is new */
+    int idOf(T value) {
+      return _ids.computeIfAbsent(
+          _key.apply(value),
+          k -> {
+            _values.add(value);
+            _ranks = null;
+            return _values.size() - 1;
+          });
+    }
+
+    /** @return the id of a value, -1 if it is not there */
+    int find(T value) {
+      return _ids.getOrDefault(_key.apply(value), -1);
+    }
+
+    /** @return the id of the value with a key, -1 if there is none */
+    int findKey(K key) {
+      return _ids.getOrDefault(key, -1);
+    }
+
+    /** @return the number of ids */
+    int size() {
+      return _values.size();
+    }
+
+    /** @return the value with an id */
+    T get(int id) {
+      return _values.get(id);
+    }
+
+    /** @return the key of the value with an id */
+    K keyOf(int id) {
+      return _key.apply(_values.get(id));
+    }
+
+    /** replaces the value with the same key (if there is one) */
+    void replace(T value) {
+      var id = find(value);
+      if (id >= 0) {
+        _values.set(id, value);
+      }
+    }
+
+    void clear() {
+      _ids.clear();
+      _values.clear();
+      _ranks = null;
+    }
+
+    /** @return the rank of each id's value in the order of their keys */
+    int[] ranks() {
+      if (_ranks != null) {
+        return _ranks;
+      }
+
+      var keys = new ArrayList<K>(_values.size());
+      _values.forEach(v -> keys.add(_key.apply(v)));
+
+      var ids = new Integer[keys.size()];
+      Arrays.setAll(ids, i -> i);
+      Arrays.sort(ids, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+
+      _ranks = new int[ids.length];
+      for (var rank = 0; rank < ids.length; rank++) {
+        _ranks[ids[rank]] = rank;
+      }
+      return _ranks;
+    }
+  }
+}
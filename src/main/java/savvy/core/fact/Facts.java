@@ -1,20 +1,28 @@
 package savvy.core.fact;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
-import org.greenrobot.eventbus.EventBus;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.CoreExecutor;
+import savvy.core.Events;
 import savvy.core.db.Dao;
 import savvy.core.db.EmbeddedNeo4j;
+import savvy.core.db.FactsPage;
+import savvy.core.db.PageCursor;
 import savvy.core.entity.Entities;
 import savvy.core.entity.Entity;
+import savvy.core.entity.EntityIndex;
+import savvy.core.entity.events.EntitiesChanged;
 import savvy.core.entity.events.EntitiesRead;
+import savvy.core.entity.events.EntityUpdated;
 import savvy.core.fact.events.DoFactCreate;
 import savvy.core.fact.events.DoFactDelete;
 import savvy.core.fact.events.DoFactUpdate;
@@ -23,69 +31,172 @@ import savvy.core.fact.events.FactCreated;
 import savvy.core.fact.events.FactDeleted;
 import savvy.core.fact.events.FactUpdated;
 import savvy.core.fact.events.FactsSearched;
-import savvy.core.relationship.Relationship;
+import savvy.core.relationship.RelationshipIndex;
 import savvy.core.relationship.Relationships;
+import savvy.core.relationship.events.RelationshipUpdated;
+import savvy.core.relationship.events.RelationshipsCounted;
 import savvy.core.relationship.events.RelationshipsRead;
 
 /** interfaces with the db */
 public class Facts {
+  // key of fact searches, a newer search makes an older one stale
+  private static final String SEARCH = "facts.search";
+
+  // related facts & paths are read from the table's adjacency snapshot instead of the db, unless
+  // run with -Dsavvy.adjacency=false (the db stays the source of truth, the table follows it)
+  private static final boolean ADJACENCY =
+      Boolean.parseBoolean(System.getProperty("savvy.adjacency", "true"));
+
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
-  private final Set<Fact> _items = new HashSet<>();
-  private final Set<Entity> _entities = new HashSet<>();
-  private final Set<Relationship> _relationships = new HashSet<>();
+
+  // every fact, replaced as a whole when reloaded note: only changed on the write thread, so the UI
+  // thread never waits on a search holding the table
+  private volatile FactTable _table = new FactTable();
+  private final EntityIndex _entities = new EntityIndex();
+  private final RelationshipIndex _relationships = new RelationshipIndex();
+  private final Events _events;
   private Dao _dao;
 
+  /** @param events bus to post & receive events on */
+  public Facts(Events events) {
+    _events = events;
+  }
+
   /**
-   * searches the database for related facts
+   * searches for related facts note: runs off the UI thread, so it only reads (from the db or the
+   * table)
    *
-   * @param filters if blank, all facts are returned otherwise only related facts
-   * @return a sorted list of related facts
+   * @param search if its filters are blank, all facts are returned otherwise only related facts
+   *     (a page at a time for a single filter, which is searched as full-text if it is not an
+   *     entity)
+   * @return a sorted page of related facts (or a ranked page of full-text matches)
    */
-  private List<Fact> factsSearch(List<String> filters) {
-
-    var found =
-        filters.stream()
-            .map(
-                f -> {
-                  var entities = Entities.getEntitiesWithIdentifier(_entities, f);
-                  if (entities.isEmpty()) {
-                    return f;
-                  } else {
-                    return entities.get(0).getName();
-                  }
-                })
-            .collect(Collectors.toList());
-
-    _items.clear();
+  private FactsPage factsSearch(DoFactsSearch search) {
+
+    // resolve aliases through the db index
+    var entities =
+        search.filters.stream().map(f -> _dao.readEntity(f)).collect(Collectors.toList());
+
+    // a single filter that is not an entity -> full-text search (ranked, so kept in order) note:
+    // a following page always continues the full-text search, even if it is empty
+    if (entities.size() == 1 && entities.get(0).isEmpty()) {
+      var matched =
+          _dao.searchFacts(search.filters.get(0), search.neighbourhood.pageSize, search.cursor);
+      if (!matched.facts.isEmpty() || search.cursor != null) {
+        return matched;
+      }
+    }
+
+    var found = new ArrayList<String>();
+    for (var i = 0; i < entities.size(); i++) {
+      found.add(entities.get(i).map(Entity::getName).orElse(search.filters.get(i)));
+    }
 
     if (found.isEmpty()) {
-      _items.addAll(_dao.readAllFacts());
-    } else if (found.size() == 1) {
-      _items.addAll(_dao.readRelatedFacts(found.get(0)));
+      return list(search);
+    }
+
+    var table = _table;
+    PageCursor next = null;
+    List<Fact> read;
+    if (found.size() == 1) {
+      var page =
+          ADJACENCY
+              ? table.related(found.get(0), search.neighbourhood, search.cursor)
+              : _dao.readRelatedFacts(found.get(0), search.neighbourhood, search.cursor);
+      read = page.facts;
+      next = page.next;
+    } else if (ADJACENCY && !search.pathOptions.unbounded) {
+      read = new ArrayList<>(table.between(found.get(0), found.get(1), search.pathOptions));
     } else {
-      var a = _dao.readFactsBetween(found.get(0), found.get(1));
-      _items.addAll(a);
+      read = new ArrayList<>(_dao.readFactsBetween(found.get(0), found.get(1), search.pathOptions));
+    }
+
+    return new FactsPage(read.stream().sorted().collect(Collectors.toList()), next);
+  }
+
+  /**
+   * lists a page of all facts from memory
+   *
+   * @param search with the page size & where the previous page ended
+   * @return a sorted page of facts
+   */
+  private FactsPage list(DoFactsSearch search) {
+    var offset = 0;
+    if (search.cursor != null) {
+      search.cursor.require(PageCursor.Kind.OFFSET);
+      offset = search.cursor.offset;
     }
 
-    return _items.stream().sorted().collect(Collectors.toList());
+    var table = _table;
+    var facts = table.page(offset, search.neighbourhood.pageSize);
+
+    var read = offset + facts.size();
+    var next = read < table.size() ? PageCursor.offset(read, -1) : null;
+    return new FactsPage(facts, next);
+  }
+
+  /**
+   * reloads every fact into a new table then swaps it in, on the write thread so it is ordered
+   * with the writes (and their table changes) around it note: facts keep their edge ids, so a page
+   * of related facts read before the reload resumes after it
+   */
+  private void reload() {
+    CoreExecutor.getDefault().write(this::load);
+  }
+
+  /**
+   * reloads every fact into a new table then swaps it in note: runs on the write thread
+   *
+   * @return the new table
+   */
+  private FactTable load() {
+    var table = new FactTable();
+    table.load(_dao::scanFacts, _table);
+    _table = table;
+    return table;
+  }
+
+  /**
+   * finds the entity most similar to a search filter that matches no identifier, offered to the
+   * user instead of the filter ("did you mean") note: reads the entities, so it runs on the UI
+   * thread
+   *
+   * @param filter to find a similar entity for
+   * @return the name of the most similar entity, empty if the filter is an entity or none is
+   *     similar
+   */
+  private Optional<String> similarTo(String filter) {
+    if (filter.isBlank() || !_entities.withIdentifier(filter).isEmpty()) {
+      return Optional.empty();
+    }
+    return _entities.similarTo(filter, 1).stream().map(Entity::getName).findFirst();
   }
 
   /**
-   * create a fact with a given subject, relationship & object if any matching entity/relationship
+   * maps a given subject, relationship & object to a fact if any matching entity/relationship
    * already exists, it will be used
    *
    * @param subject fact component
    * @param relationship fact component
    * @param object fact component
-   * @return the created fact in its final form
+   * @param similar receives "did you mean": each new entity's name -> the most similar entity's
+   * @return the fact in its final form
    */
-  private Fact factCreate(String subject, String relationship, String object) {
+  private Fact factOf(
+      String subject, String relationship, String object, Map<String, String> similar) {
     var sm = Entities.mapEntity(_entities, subject);
     var s = sm.entity;
 
     var om = Entities.mapEntity(_entities, object);
     var o = om.entity;
 
+    for (var mapping : List.of(sm, om)) {
+      if (!mapping.similar.isEmpty()) {
+        similar.put(mapping.entity.getName(), mapping.similar.get(0).getName());
+      }
+    }
+
     var rm = Relationships.mapRelationship(_relationships, relationship);
     var r = rm.relationship;
 
@@ -97,39 +208,94 @@ public class Facts {
     } else {
       fact = new Fact(o, r, s, m);
     }
-
-    _dao.createFact(fact);
     return fact;
   }
 
   /**
-   * delete a fact
+   * create a fact (and add it to the table) note: runs on the write thread
+   *
+   * @param fact to create
+   * @return the created fact, empty if it already existed
+   */
+  private Optional<Fact> factCreate(Fact fact) {
+    if (!_dao.createFact(fact)) {
+      return Optional.empty();
+    }
+    _table.add(fact);
+    return Optional.of(fact);
+  }
+
+  /**
+   * delete a fact (and remove it from the table) note: runs on the write thread
    *
    * @param fact to delete
+   * @return the deleted fact, empty if it did not exist
    */
-  private void factDelete(Fact fact) {
-    _dao.deleteFact(fact);
+  private Optional<Fact> factDelete(Fact fact) {
+    if (!_dao.deleteFact(fact)) {
+      return Optional.empty();
+    }
+    _table.remove(fact);
+    return Optional.of(fact);
   }
 
   /**
    * update a fact from a previous state to a new one
    *
    * @param previous fact version
-   * @param current fact version
-   * @return the updated fact in its final form
+   * @param current fact version (in its final form)
+   * @param similar "did you mean" for the entities the current version creates (see factOf)
+   * @return which versions changed: the current version may already have existed and the previous
+   *     one may already have been gone
    */
-  private Optional<Fact> factUpdate(Fact previous, Fact current) {
-    if (previous.equals(current)) {
-      return Optional.empty();
+  private FactUpdate factUpdate(Fact previous, Fact current, Map<String, String> similar) {
+    var deleted = factDelete(previous).isPresent();
+    var created = factCreate(current).isPresent();
+    return new FactUpdate(previous, current, similar, deleted, created);
+  }
+
+  /**
+   * broadcasts what an update changed: FactUpdated, FactDeleted if only the previous version was
+   * deleted or FactCreated if only the current version was created
+   *
+   * @param update of a fact
+   */
+  private void post(FactUpdate update) {
+    if (update.deleted && update.created) {
+      _events.post(new FactUpdated(update.previous, update.current, update.similar));
+    } else if (update.deleted) {
+      _events.post(new FactDeleted(update.previous));
+    } else if (update.created) {
+      _events.post(new FactCreated(update.current, update.similar));
     }
+  }
+
+  /** the versions of an updated fact & which of them changed in the db */
+  private static final class FactUpdate {
+    final Fact previous;
+    final Fact current;
+
+    // "did you mean" for the entities the current version created (see factOf)
+    final Map<String, String> similar;
 
-    factDelete(previous);
+    // the previous version was deleted
+    final boolean deleted;
 
-    var created =
-        factCreate(
-            current.subject.getName(), current.relationship.getName(), current.object.getName());
+    // the current version was created
+    final boolean created;
 
-    return Optional.of(created);
+    FactUpdate(
+        Fact previous,
+        Fact current,
+        Map<String, String> similar,
+        boolean deleted,
+        boolean created) {
+      this.previous = previous;
+      this.current = current;
+      this.similar = similar;
+      this.deleted = deleted;
+      this.created = created;
+    }
   }
 
   // === events ==================================================================================\\
@@ -142,33 +308,61 @@ public class Facts {
    */
   public void init(EmbeddedNeo4j en4j) {
     _dao = new Dao(en4j);
-    EventBus.getDefault().register(this);
+    _events.register(this);
+
+    // read before the UI is shown
+    _table.load(_dao::scanFacts);
+    log.info("facts: {}", _table.size());
   }
 
   // --- DO listeners ----------------------------------------------------------------------------\\
+  // db work runs on the core executor, results are handled back on the UI thread
+
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoFactsSearch ev) {
-    var facts = factsSearch(ev.filters);
-
-    EventBus.getDefault().post(new FactsSearched(facts));
+    var similar = new LinkedHashMap<String, String>();
+    ev.filters.forEach(f -> similarTo(f).ifPresent(s -> similar.put(f, s)));
+    CoreExecutor.getDefault()
+        .read(
+            SEARCH,
+            () -> factsSearch(ev),
+            page ->
+                _events.post(
+                    new FactsSearched(page.facts, ev.filters, similar, ev.cursor, page.next)));
   }
 
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoFactCreate ev) {
-    var fact = factCreate(ev.subject, ev.relationship, ev.object);
-    EventBus.getDefault().post(new FactCreated(fact));
+    var similar = new LinkedHashMap<String, String>();
+    var fact = factOf(ev.subject, ev.relationship, ev.object, similar);
+    CoreExecutor.getDefault()
+        .write(
+            () -> factCreate(fact),
+            created -> created.ifPresent(f -> _events.post(new FactCreated(f, similar))));
   }
 
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoFactUpdate ev) {
-    var success = factUpdate(ev.previous, ev.current);
-    success.ifPresent(fact -> EventBus.getDefault().post(new FactUpdated(ev.previous, fact)));
+    if (ev.previous.equals(ev.current)) {
+      return;
+    }
+
+    var similar = new LinkedHashMap<String, String>();
+    var current =
+        factOf(
+            ev.current.subject.getName(),
+            ev.current.relationship.getName(),
+            ev.current.object.getName(),
+            similar);
+    CoreExecutor.getDefault().write(() -> factUpdate(ev.previous, current, similar), this::post);
   }
 
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoFactDelete ev) {
-    factDelete(ev.fact);
-    EventBus.getDefault().post(new FactDeleted(ev.fact));
+    CoreExecutor.getDefault()
+        .write(
+            () -> factDelete(ev.fact),
+            deleted -> deleted.ifPresent(f -> _events.post(new FactDeleted(f))));
   }
 
   // --- ON listeners ---------------------------------------------------------------------------\\
@@ -180,6 +374,32 @@ public class Facts {
     _entities.addAll(ev.entities);
   }
 
+  // entities changed -> update entities autocomplete & the facts' versions of them (on the write
+  // thread, like every table change)
+  @Subscribe(threadMode = ThreadMode.MAIN)
+  public void on(EntitiesChanged ev) {
+    ev.applyTo(_entities);
+    var changed = List.copyOf(ev.changed.values());
+    CoreExecutor.getDefault().write(() -> changed.forEach(_table::replace));
+  }
+
+  // entity updated -> reload the table (a rename can merge it into another entity)
+  @Subscribe(threadMode = ThreadMode.MAIN)
+  public void on(EntityUpdated ev) {
+    reload();
+  }
+
+  // relationship updated -> reload the table (a rename can merge it into another relationship)
+  // then count both names from it
+  @Subscribe(threadMode = ThreadMode.MAIN)
+  public void on(RelationshipUpdated ev) {
+    var names = new HashSet<>(List.of(ev.previous.getName(), ev.current.getName()));
+    CoreExecutor.getDefault()
+        .write(
+            () -> load().counts(names),
+            counts -> _events.post(new RelationshipsCounted(names, counts)));
+  }
+
   // relationships read -> update relationships autocomplete
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(RelationshipsRead ev) {
@@ -0,0 +1,387 @@
+package savvy.core.fact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import savvy.core.db.NeighbourhoodOptions;
+import savvy.core.db.PageCursor;
+import savvy.core.db.PathOptions;
+
+/**
+ * Searches an adjacency in memory the way the db searches the graph (see
+ * NeighbourhoodSearch & PathSearch): the neighbourhood of an entity is read a page at a time,
+ * nearest first then by edge id, and the paths between two entities are found by a bounded
+ * bidirectional search. Entities are ids and facts are rows, the caller builds the facts.
+ *
+ * <p>edge ids are stable (unlike rows), so a cursor holds the hop and the edge id of the last fact
+ * read
+ *
+ * <p>note: the marks of the entities reached are kept between searches and cleared by a new stamp
+ * (rather than allocating & filling an array the size of every entity each time), so a search is
+ * only used by one thread at a time (the table's, while it is held)
+ */
+final class GraphSearch {
+  private final Adjacency _graph;
+
+  // distances from the start of a search (or from the other end of a path search)
+  private final Marks _distances = new Marks();
+  private final Marks _toDistances = new Marks();
+
+  // distances to the end of the paths collected & the entities on the path being collected
+  private final Marks _pathDistances = new Marks();
+  private final Marks _visited = new Marks();
+
+  /** @param graph to search */
+  GraphSearch(Adjacency graph) {
+    _graph = graph;
+  }
+
+  /** a page of rows and where the next page starts (null if there are no more) */
+  static final class Page {
+    final List<Integer> rows;
+    final PageCursor next;
+
+    Page(List<Integer> rows, PageCursor next) {
+      this.rows = rows;
+      this.next = next;
+    }
+  }
+
+  /**
+   * read a page of the facts around an entity
+   *
+   * @param start entity at the centre of the neighbourhood
+   * @param options depth of the neighbourhood and size of the page
+   * @param cursor where the previous page ended, null for the first page
+   * @return the rows of the page (nearest first) and where the next page starts
+   */
+  Page neighbourhood(int start, NeighbourhoodOptions options, PageCursor cursor) {
+    if (cursor != null) {
+      cursor.require(PageCursor.Kind.HOP);
+    }
+    var rows = new ArrayList<Integer>();
+
+    var distances = _distances.reset(_graph.entities());
+    distances.set(start, 0);
+    var frontier = new int[] {start};
+
+    for (var hop = 1; hop <= options.depth && frontier.length > 0; hop++) {
+      // facts first reached at this hop, as edge id (high) & row (low), by edge id
+      var layer = new Ints();
+      var next = new Ints();
+      for (var entity : frontier) {
+        for (var p = _graph.first(entity); p >= 0; p = _graph.next(entity, p)) {
+          var other = _graph.other(p);
+          var distance = distances.get(other);
+
+          // leads back towards the start -> read at an earlier hop
+          if (distance >= 0 && distance < hop - 1) {
+            continue;
+          }
+
+          layer.add((long) _graph.edge(p) << 32 | _graph.row(p));
+          if (distance < 0) {
+            distances.set(other, hop);
+            next.add(other);
+          }
+        }
+      }
+      frontier = next.toInts();
+
+      // already read on previous pages
+      if (cursor != null && hop < cursor.hop) {
+        continue;
+      }
+      var after = cursor != null && hop == cursor.hop ? cursor.after : -1;
+
+      var keys = layer.toSortedLongs();
+      var last = -1L;
+      for (var i = 0; i < keys.length; i++) {
+        var edgeId = keys[i] >>> 32;
+        // reached from two entities of the frontier or read on the previous page
+        if ((i > 0 && keys[i] == keys[i - 1]) || edgeId <= after) {
+          continue;
+        }
+        if (rows.size() == options.pageSize) {
+          return new Page(rows, PageCursor.hop(hop, last));
+        }
+        rows.add((int) keys[i]);
+        last = edgeId;
+      }
+
+      // page filled exactly at the end of this hop -> resume at the next one (if it has facts)
+      if (rows.size() == options.pageSize) {
+        var more = hop < options.depth && leadsOn(frontier, hop, distances);
+        return new Page(rows, more ? PageCursor.hop(hop + 1, -1) : null);
+      }
+    }
+    return new Page(rows, null);
+  }
+
+  /**
+   * @param frontier entities first reached at a hop
+   * @param hop they were reached at
+   * @param distances of the entities seen so far, -1 if unseen
+   * @return true if they take part in facts read at the next hop (not only the facts leading back
+   *     to the previous one)
+   */
+  private boolean leadsOn(int[] frontier, int hop, Marks distances) {
+    for (var entity : frontier) {
+      for (var p = _graph.first(entity); p >= 0; p = _graph.next(entity, p)) {
+        var distance = distances.get(_graph.other(p));
+        if (distance < 0 || distance >= hop) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * search for the paths between two entities
+   *
+   * @param from start point (arbitrary, since direction is ignored)
+   * @param to end point
+   * @param options bounds for the search
+   * @return the rows of each path found, shortest paths first
+   */
+  List<int[]> paths(int from, int to, PathOptions options) {
+    var found = new ArrayList<int[]>();
+    if (from == to) {
+      return found;
+    }
+
+    var shortest = shortestDistance(from, to, options.maxHops);
+    if (shortest < 0) {
+      return found;
+    }
+
+    var longest = options.shortestOnly ? shortest : options.maxHops;
+    var toDistances = distances(to, longest - 1);
+
+    var visited = _visited.reset(_graph.entities());
+    visited.set(from, 1);
+    for (var length = shortest; length <= longest && found.size() < options.maxPaths; length++) {
+      collect(from, to, length, toDistances, visited, new int[length], 0, options, found);
+    }
+    return found;
+  }
+
+  /**
+   * bidirectional breadth first search for the distance between two entities, expanding the side
+   * whose frontier has the fewest facts
+   *
+   * @param from start entity
+   * @param to end entity
+   * @param maxHops furthest apart they may be
+   * @return the number of hops between them or -1 if they are further apart than maxHops
+   */
+  private int shortestDistance(int from, int to, int maxHops) {
+    var fromDistances = _distances.reset(_graph.entities());
+    var toDistances = _toDistances.reset(_graph.entities());
+    fromDistances.set(from, 0);
+    toDistances.set(to, 0);
+
+    var fromFrontier = new int[] {from};
+    var toFrontier = new int[] {to};
+    var fromDepth = 0;
+    var toDepth = 0;
+
+    while (fromDepth + toDepth < maxHops && fromFrontier.length > 0 && toFrontier.length > 0) {
+      var best = Integer.MAX_VALUE;
+
+      if (degree(fromFrontier) <= degree(toFrontier)) {
+        fromDepth++;
+        fromFrontier = expand(fromFrontier, fromDepth, fromDistances);
+        for (var entity : fromFrontier) {
+          if (toDistances.get(entity) >= 0) {
+            best = Math.min(best, fromDepth + toDistances.get(entity));
+          }
+        }
+      } else {
+        toDepth++;
+        toFrontier = expand(toFrontier, toDepth, toDistances);
+        for (var entity : toFrontier) {
+          if (fromDistances.get(entity) >= 0) {
+            best = Math.min(best, toDepth + fromDistances.get(entity));
+          }
+        }
+      }
+
+      if (best != Integer.MAX_VALUE) {
+        return best;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * breadth first search for the distance to every entity within a number of hops
+   *
+   * @param start entity
+   * @param depth maximum number of hops
+   * @return distance of each entity, -1 if it is further
+   */
+  private Marks distances(int start, int depth) {
+    var distances = _pathDistances.reset(_graph.entities());
+    distances.set(start, 0);
+
+    var frontier = new int[] {start};
+    for (var d = 1; d <= depth && frontier.length > 0; d++) {
+      frontier = expand(frontier, d, distances);
+    }
+    return distances;
+  }
+
+  /**
+   * advances a breadth first search by one level
+   *
+   * @param frontier the entities of the previous level
+   * @param depth of the new level
+   * @param distances of the entities seen so far, -1 if unseen (updated with the new level)
+   * @return the entities of the new level
+   */
+  private int[] expand(int[] frontier, int depth, Marks distances) {
+    var next = new Ints();
+    for (var entity : frontier) {
+      for (var p = _graph.first(entity); p >= 0; p = _graph.next(entity, p)) {
+        var other = _graph.other(p);
+        if (distances.get(other) < 0) {
+          distances.set(other, depth);
+          next.add(other);
+        }
+      }
+    }
+    return next.toInts();
+  }
+
+  /**
+   * @param entities of a frontier
+   * @return the number of facts they take part in
+   */
+  private long degree(int[] entities) {
+    var degree = 0L;
+    for (var entity : entities) {
+      degree += _graph.degree(entity);
+    }
+    return degree;
+  }
+
+  /**
+   * depth first enumeration of the simple paths with exactly the remaining number of hops
+   *
+   * @param entity the current end of the path
+   * @param to the entity paths must end at
+   * @param remaining hops left on the path
+   * @param toDistances distances to the end entity, -1 if too far away
+   * @param visited entities already on the path
+   * @param path rows on the path so far
+   * @param length of the path so far
+   * @param options bounds for the search
+   * @param found the paths found so far
+   */
+  private void collect(
+      int entity,
+      int to,
+      int remaining,
+      Marks toDistances,
+      Marks visited,
+      int[] path,
+      int length,
+      PathOptions options,
+      List<int[]> found) {
+
+    for (var p = _graph.first(entity); p >= 0; p = _graph.next(entity, p)) {
+      if (found.size() >= options.maxPaths) {
+        return;
+      }
+
+      var other = _graph.other(p);
+      var distance = toDistances.get(other);
+
+      // cannot reach the end in time or would revisit an entity
+      if (distance < 0 || distance > remaining - 1 || visited.get(other) > 0) {
+        continue;
+      }
+
+      path[length] = _graph.row(p);
+      if (other == to) {
+        // only complete when exactly at the requested length
+        if (remaining == 1) {
+          found.add(Arrays.copyOf(path, length + 1));
+        }
+      } else {
+        visited.set(other, 1);
+        collect(other, to, remaining - 1, toDistances, visited, path, length + 1, options, found);
+        visited.set(other, 0);
+      }
+    }
+  }
+
+  /**
+   * an int for each entity marked by a search, -1 for the others. Marks are cleared by moving to a
+   * new stamp (entities marked under an older one read as unmarked), the arrays are only filled
+   * when they grow or the stamp wraps around.
+   */
+  private static final class Marks {
+    private int[] _stamps = new int[0];
+    private int[] _values = new int[0];
+    private int _stamp = 0;
+
+    /**
+     * @param entities number of entity ids
+     * @return these marks, every entity unmarked
+     */
+    Marks reset(int entities) {
+      if (_stamps.length < entities) {
+        var capacity = Math.max(entities, _stamps.length * 2);
+        _stamps = new int[capacity];
+        _values = new int[capacity];
+        _stamp = 0;
+      }
+      if (++_stamp == 0) {
+        Arrays.fill(_stamps, 0);
+        _stamp = 1;
+      }
+      return this;
+    }
+
+    /** @return the mark of an entity, -1 if it has none */
+    int get(int entity) {
+      return _stamps[entity] == _stamp ? _values[entity] : -1;
+    }
+
+    /** marks an entity */
+    void set(int entity, int value) {
+      _stamps[entity] = _stamp;
+      _values[entity] = value;
+    }
+  }
+
+  /** a growing array of ints (or longs) */
+  private static final class Ints {
+    private long[] _values = new long[16];
+    private int _size = 0;
+
+    void add(long value) {
+      if (_size == _values.length) {
+        _values = Arrays.copyOf(_values, _size * 2);
+      }
+      _values[_size++] = value;
+    }
+
+    int[] toInts() {
+      var ints = new int[_size];
+      for (var i = 0; i < _size; i++) {
+        ints[i] = (int) _values[i];
+      }
+      return ints;
+    }
+
+    long[] toSortedLongs() {
+      var longs = Arrays.copyOf(_values, _size);
+      Arrays.sort(longs);
+      return longs;
+    }
+  }
+}
@@ -4,16 +4,50 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.db.NeighbourhoodOptions;
+import savvy.core.db.PageCursor;
+import savvy.core.db.PathOptions;
 
 /** fired to initiate searching related Facts from the DB */
 public final class DoFactsSearch {
   public final List<String> filters;
+  public final PathOptions pathOptions;
+  public final NeighbourhoodOptions neighbourhood;
+  public final PageCursor cursor;
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
   public DoFactsSearch(List<String> filters) {
+    this(filters, PathOptions.DEFAULT);
+  }
+
+  /**
+   * @param filters entity identifiers to search for
+   * @param pathOptions bounds the search between two entities (use PathOptions.UNBOUNDED to gather
+   *     every path)
+   */
+  public DoFactsSearch(List<String> filters, PathOptions pathOptions) {
+    this(filters, pathOptions, NeighbourhoodOptions.DEFAULT, null);
+  }
+
+  /**
+   * @param filters entity identifiers to search for
+   * @param pathOptions bounds the search between two entities (use PathOptions.UNBOUNDED to gather
+   *     every path)
+   * @param neighbourhood bounds the search around a single entity
+   * @param cursor continues a search around a single entity from a previous page (null for the
+   *     first page)
+   */
+  public DoFactsSearch(
+      List<String> filters,
+      PathOptions pathOptions,
+      NeighbourhoodOptions neighbourhood,
+      PageCursor cursor) {
 
     filters = filters.stream().filter(f -> !f.isBlank()).collect(Collectors.toList());
-    log.info("searching for: {}", filters);
+    log.info("searching for: {}, {}, {}, {}", filters, pathOptions, neighbourhood, cursor);
     this.filters = filters;
+    this.pathOptions = pathOptions;
+    this.neighbourhood = neighbourhood;
+    this.cursor = cursor;
   }
 }
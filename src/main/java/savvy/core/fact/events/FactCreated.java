@@ -1,5 +1,6 @@
 package savvy.core.fact.events;
 
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import savvy.core.fact.Fact;
@@ -7,10 +8,19 @@ import savvy.core.fact.Fact;
 /** fired upon creation of fact in the DB */
 public final class FactCreated {
   public final Fact fact;
+
+  // "did you mean": each entity the fact created -> the most similar existing entity's name
+  public final Map<String, String> similar;
+
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
   public FactCreated(Fact fact) {
-    log.info("fact: {}", fact);
+    this(fact, Map.of());
+  }
+
+  public FactCreated(Fact fact, Map<String, String> similar) {
+    log.info("fact: {}, similar: {}", fact, similar);
     this.fact = fact;
+    this.similar = similar;
   }
 }
@@ -12,12 +12,20 @@ public class FactUpdated {
   public final Fact current;
   public final Map<Entity, Entity> entityChanges;
 
+  // "did you mean": each entity the current version created -> the most similar entity's name
+  public final Map<String, String> similar;
+
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
   public FactUpdated(Fact previous, Fact current) {
-    log.info("fact: {} -> {}", previous, current);
+    this(previous, current, Map.of());
+  }
+
+  public FactUpdated(Fact previous, Fact current, Map<String, String> similar) {
+    log.info("fact: {} -> {}, similar: {}", previous, current, similar);
     this.previous = previous;
     this.current = current;
+    this.similar = similar;
 
     // entity changes -> diff
     var changes = new HashMap<Entity, Entity>();
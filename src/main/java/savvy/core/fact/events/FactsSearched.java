@@ -1,17 +1,43 @@
 package savvy.core.fact.events;
 
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.db.PageCursor;
 import savvy.core.fact.Fact;
 
 /** fired upon return of searched facts from the DB */
 public final class FactsSearched {
   public final List<Fact> facts;
+  public final List<String> filters;
+
+  // "did you mean": each filter that is not an entity -> the most similar entity's name
+  public final Map<String, String> similar;
+
+  // the page these facts continue from, null for a first page
+  public final PageCursor cursor;
+
+  // where the following page starts, null if there are no more facts
+  public final PageCursor next;
+
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
   public FactsSearched(List<Fact> facts) {
-    log.info("facts: {}", facts.size());
+    this(facts, List.of(), Map.of(), null, null);
+  }
+
+  public FactsSearched(
+      List<Fact> facts,
+      List<String> filters,
+      Map<String, String> similar,
+      PageCursor cursor,
+      PageCursor next) {
+    log.info("facts: {}, similar: {}, cursor: {}, next: {}", facts.size(), similar, cursor, next);
     this.facts = facts;
+    this.filters = filters;
+    this.similar = similar;
+    this.cursor = cursor;
+    this.next = next;
   }
 }
@@ -1,5 +1,6 @@
 package savvy.core.relationship;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -16,6 +17,9 @@ public class Relationship implements Comparable<Relationship> {
   // participating in the relationship
   private final Set<Correlate> correlates;
 
+  // name and correlate members (computed once, relationships are immutable)
+  private final Set<String> forms;
+
   /**
    * check if this relationship has a given correlate member
    *
@@ -44,12 +48,21 @@ public class Relationship implements Comparable<Relationship> {
    * @return true if the form is present
    */
   public boolean hasForm(String form) {
-    return name.equals(form) || hasCorrelate(form);
+    return forms.contains(form);
   }
 
   public Relationship(String name, Set<Correlate> correlates) {
     this.name = name;
     this.correlates = correlates;
+
+    var forms = new HashSet<String>();
+    correlates.forEach(
+        c -> {
+          forms.add(c.outbound);
+          forms.add(c.inbound);
+        });
+    forms.add(name);
+    this.forms = Collections.unmodifiableSet(forms);
   }
 
   /**
@@ -57,9 +70,6 @@ public class Relationship implements Comparable<Relationship> {
    *     correlates
    */
   public Set<String> allForms() {
-    var forms = new HashSet<String>();
-    correlates.forEach(c -> forms.addAll(Set.of(c.outbound, c.inbound)));
-    forms.add(name);
     return forms;
   }
 
@@ -0,0 +1,125 @@
+package savvy.core.relationship;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A set of relationships indexed by form (name, outbound and inbound correlates). Each form maps
+ * to the relationships having it along with the direction it implies, so a form resolves to its
+ * relationship and direction with a single hash lookup. The index is kept in sync by every change
+ * to the set (add, remove, clear, iterator removal).
+ */
+public class RelationshipIndex extends AbstractSet<Relationship> {
+  private final Set<Relationship> _relationships = new HashSet<>();
+  private final Map<String, List<RelationshipMapping>> _byForm = new HashMap<>();
+
+  public RelationshipIndex() {}
+
+  /** @param relationships to start with */
+  public RelationshipIndex(Iterable<Relationship> relationships) {
+    relationships.forEach(this::add);
+  }
+
+  /**
+   * @param form name or correlate to find
+   * @return the relationships with the form and whether it is outbound (empty if there are none)
+   */
+  public List<RelationshipMapping> withForm(String form) {
+    return Collections.unmodifiableList(_byForm.getOrDefault(form, List.of()));
+  }
+
+  /** @return every form of every relationship in sorted order */
+  public List<String> forms() {
+    return _byForm.keySet().stream().sorted().collect(Collectors.toList());
+  }
+
+  @Override
+  public boolean add(Relationship relationship) {
+    if (!_relationships.add(relationship)) {
+      return false;
+    }
+
+    for (var form : relationship.allForms()) {
+      var mapping =
+          new RelationshipMapping(relationship, relationship.hasOutboundCorrelate(form), "");
+      _byForm.computeIfAbsent(form, k -> new ArrayList<>(1)).add(mapping);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (!_relationships.remove(o)) {
+      return false;
+    }
+
+    unindex((Relationship) o);
+    return true;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return _relationships.contains(o);
+  }
+
+  @Override
+  public void clear() {
+    _relationships.clear();
+    _byForm.clear();
+  }
+
+  @Override
+  public int size() {
+    return _relationships.size();
+  }
+
+  @Override
+  public Iterator<Relationship> iterator() {
+    var it = _relationships.iterator();
+    return new Iterator<>() {
+      private Relationship _last;
+
+      @Override
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      @Override
+      public Relationship next() {
+        _last = it.next();
+        return _last;
+      }
+
+      @Override
+      public void remove() {
+        it.remove();
+        unindex(_last);
+      }
+    };
+  }
+
+  /**
+   * removes a relationship from the form index
+   *
+   * @param relationship to remove
+   */
+  private void unindex(Relationship relationship) {
+    for (var form : relationship.allForms()) {
+      var found = _byForm.get(form);
+      if (found != null) {
+        found.removeIf(m -> m.relationship.equals(relationship));
+        if (found.isEmpty()) {
+          _byForm.remove(form);
+        }
+      }
+    }
+  }
+}
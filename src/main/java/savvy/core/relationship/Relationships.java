@@ -1,15 +1,20 @@
 package savvy.core.relationship;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.greenrobot.eventbus.EventBus;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Coalescer;
+import savvy.core.CoreExecutor;
+import savvy.core.Events;
 import savvy.core.db.Dao;
 import savvy.core.db.EmbeddedNeo4j;
 import savvy.core.fact.events.FactCreated;
@@ -19,17 +24,33 @@ import savvy.core.relationship.events.DoRelationshipUpdate;
 import savvy.core.relationship.events.DoRelationshipsFilter;
 import savvy.core.relationship.events.DoRelationshipsRead;
 import savvy.core.relationship.events.RelationshipUpdated;
+import savvy.core.relationship.events.RelationshipsCounted;
 import savvy.core.relationship.events.RelationshipsFiltered;
 import savvy.core.relationship.events.RelationshipsRead;
 
 /** models a group of relationships */
 public class Relationships {
+  // key of relationship reads, a newer read makes an older one stale
+  private static final String REFRESH = "relationships.refresh";
+
+  // key of relationship broadcasts, broadcasts requested together are made as one
+  private static final String POST = "relationships.post";
+
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
-  private final Set<Relationship> _items = new HashSet<>();
+  // by name, along with the number of facts using each one
+  private final Map<String, Relationship> _items = new HashMap<>();
+  private final Map<String, Long> _counts = new HashMap<>();
+  private final RelationshipIndex _index = new RelationshipIndex();
 
+  private final Events _events;
   private Dao _dao;
 
+  /** @param events bus to post & receive events on */
+  public Relationships(Events events) {
+    _events = events;
+  }
+
   /**
    * filters a list of relationships down to those containing a correlate
    *
@@ -49,7 +70,21 @@ public class Relationships {
    * @return a list of matching relationships
    */
   public List<Relationship> getRelationshipsWithForm(String correlate) {
-    return Relationships.getRelationshipsWithForm(_items, correlate);
+    return Relationships.getRelationshipsWithForm(_index, correlate);
+  }
+
+  /**
+   * finds the relationships in an index that have a form
+   *
+   * @param relationships to look up
+   * @param correlate to find
+   * @return a list of matching relationships
+   */
+  public static List<Relationship> getRelationshipsWithForm(
+      RelationshipIndex relationships, String correlate) {
+    return relationships.withForm(correlate).stream()
+        .map(f -> f.relationship)
+        .collect(Collectors.toList());
   }
 
   /**
@@ -62,9 +97,37 @@ public class Relationships {
    */
   public static RelationshipMapping mapRelationship(
       Collection<Relationship> relationships, String relationship) {
-    Relationship r;
-    var isOutbound = true;
+    return mapRelationship(
+        relationship,
+        form ->
+            Relationships.getRelationshipsWithForm(relationships, form).stream()
+                .map(r -> new RelationshipMapping(r, r.hasOutboundCorrelate(form), ""))
+                .findFirst());
+  }
 
+  /**
+   * creates a relationship based on an already existing one if it exists otherwise creates a new
+   * one
+   *
+   * @param relationships to look up
+   * @param relationship correlate to find
+   * @return a found relationship or a new one
+   */
+  public static RelationshipMapping mapRelationship(
+      RelationshipIndex relationships, String relationship) {
+    return mapRelationship(relationship, form -> relationships.withForm(form).stream().findFirst());
+  }
+
+  /**
+   * creates a relationship based on an already existing one if it exists otherwise creates a new
+   * one
+   *
+   * @param relationship correlate to find
+   * @param lookup finds the first relationship with a form (and the direction it implies)
+   * @return a found relationship or a new one
+   */
+  private static RelationshipMapping mapRelationship(
+      String relationship, Function<String, Optional<RelationshipMapping>> lookup) {
     var m = "";
 
     // extract modifiers
@@ -74,31 +137,120 @@ public class Relationships {
       relationship = split[1].trim();
     }
 
-    // relationship exists verbatim -> use it
-
     // relationship exists -> use existent
-    var found = Relationships.getRelationshipsWithForm(relationships, relationship);
+    var found = lookup.apply(relationship);
     if (found.isEmpty()) {
-      r =
+      var r =
           new Relationship(
               relationship, Set.of(new Correlate(relationship, ("[←" + relationship + "]"))));
-    } else {
-      r = found.get(0);
-      isOutbound = r.hasOutboundCorrelate(relationship);
+      return new RelationshipMapping(r, true, m);
     }
+    return new RelationshipMapping(found.get().relationship, found.get().isOutbound, m);
+  }
 
-    return new RelationshipMapping(r, isOutbound, m);
+  /**
+   * adds or replaces the relationship with a given name (keeping the index in sync)
+   *
+   * @param name of the relationship
+   * @param relationship to store, null to remove it
+   * @return the relationship previously stored under the name
+   */
+  private Relationship put(String name, Relationship relationship) {
+    var previous = relationship == null ? _items.remove(name) : _items.put(name, relationship);
+    if (previous != null) {
+      _index.remove(previous);
+    }
+    if (relationship != null) {
+      _index.add(relationship);
+    }
+    return previous;
   }
 
   /**
-   * clears and reloads the data in this Entities on some updates, it is impossible to predict the
-   * change in the db, instead of guessing, we reload everything
+   * clears and reloads the data in this Relationships (only on an explicit read, fact events are
+   * applied incrementally)
+   *
+   * @param read all relationships in the db with their fact counts
    */
-  public List<Relationship> refresh() {
+  private void refresh(Map<Relationship, Long> read) {
     _items.clear();
-    _items.addAll(_dao.readAllRelationships());
+    _index.clear();
+    _counts.clear();
+    apply(read);
+  }
+
+  /**
+   * reads all relationships off the UI thread then refreshes and broadcasts the read event on the
+   * event bus
+   */
+  private void refresh() {
+    CoreExecutor.getDefault()
+        .read(
+            REFRESH,
+            _dao::readRelationshipCounts,
+            read -> {
+              refresh(read);
+              post();
+            });
+  }
 
-    return _items.stream().sorted().collect(Collectors.toList());
+  /**
+   * adjusts the number of facts using a relationship, adding it when first used and removing it
+   * when no longer used
+   *
+   * @param relationship used by a fact
+   * @param delta change in its number of facts
+   * @return true if a relationship was added or removed
+   */
+  private boolean count(Relationship relationship, long delta) {
+    var name = relationship.getName();
+    var count = _counts.getOrDefault(name, 0L) + delta;
+
+    if (count <= 0) {
+      _counts.remove(name);
+      return put(name, null) != null;
+    }
+
+    _counts.put(name, count);
+    // an existing relationship keeps its correlates
+    return !_items.containsKey(name) && put(name, relationship) == null;
+  }
+
+  /**
+   * replaces the state of some relationships with the one read from the db (or counted from the
+   * facts)
+   *
+   * @param read relationships with their fact counts
+   */
+  private void apply(Map<Relationship, Long> read) {
+    read.forEach(
+        (relationship, count) -> {
+          put(relationship.getName(), relationship);
+          _counts.put(relationship.getName(), count);
+        });
+  }
+
+  /** broadcasts the relationships from memory on the event bus */
+  private void post() {
+    _events.post(read());
+  }
+
+  /**
+   * broadcasts the relationships from memory on the event bus shortly, changes made in quick
+   * succession are broadcast once
+   */
+  private void postLater() {
+    Coalescer.getDefault().request(POST, this::post);
+  }
+
+  /** @return the relationships (and their forms) from memory */
+  private RelationshipsRead read() {
+    return new RelationshipsRead(sorted(), _index.forms());
+  }
+
+  /** @return the relationships in sorted order */
+  private List<Relationship> sorted() {
+    return _items.values().stream().sorted().collect(Collectors.toList());
   }
 
   /**
@@ -124,9 +276,12 @@ public class Relationships {
    */
   private List<Relationship> relationshipsFilter(String filter) {
     if (filter.isBlank()) {
-      return _items.stream().sorted().collect(Collectors.toList());
+      return sorted();
     } else {
-      return _items.stream().filter(i -> i.hasForm(filter)).sorted().collect(Collectors.toList());
+      return getRelationshipsWithForm(_index, filter).stream()
+          .distinct()
+          .sorted()
+          .collect(Collectors.toList());
     }
   }
 
@@ -141,60 +296,74 @@ public class Relationships {
     _dao = new Dao(en4j);
 
     // register with event bus
-    EventBus.getDefault().register(this);
-
-    var read = refresh();
+    _events.register(this);
 
-    EventBus.getDefault().post(new RelationshipsRead(read));
+    // read before the UI is shown
+    refresh(_dao.readRelationshipCounts());
+    post();
   }
 
   // --- DO listeners ----------------------------------------------------------------------------\\
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoRelationshipsRead ev) {
-    var result = refresh();
-    EventBus.getDefault().post(new RelationshipsRead(result));
+    refresh();
   }
 
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoRelationshipsFilter ev) {
     var filtered = relationshipsFilter(ev.filter);
-    EventBus.getDefault().post(new RelationshipsFiltered(filtered));
+    _events.post(new RelationshipsFiltered(filtered));
   }
 
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(DoRelationshipUpdate ev) {
-    var success = relationshipUpdate(ev.previous, ev.current);
-    if (success) {
-      EventBus.getDefault().post(new RelationshipUpdated(ev.previous, ev.current));
-    }
+    CoreExecutor.getDefault()
+        .write(
+            () -> relationshipUpdate(ev.previous, ev.current),
+            success -> {
+              if (success) {
+                _events.post(new RelationshipUpdated(ev.previous, ev.current));
+              }
+            });
   }
 
   // --- ON listeners ---------------------------------------------------------------------------\\
-  // fact created -> refresh
+  // fact created -> count its relationship
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(FactCreated ev) {
-    var result = refresh();
-    EventBus.getDefault().post(new RelationshipsRead(result));
+    if (count(ev.fact.relationship, 1)) {
+      postLater();
+    }
   }
 
-  // fact updated -> refresh
+  // fact updated -> move the count to its current relationship
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(FactUpdated ev) {
-    var result = refresh();
-    EventBus.getDefault().post(new RelationshipsRead(result));
+    var removed = count(ev.previous.relationship, -1);
+    var added = count(ev.current.relationship, 1);
+    if (removed || added) {
+      postLater();
+    }
   }
 
-  // fact deleted -> refresh
+  // fact deleted -> uncount its relationship
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(FactDeleted ev) {
-    var result = refresh();
-    EventBus.getDefault().post(new RelationshipsRead(result));
+    if (count(ev.fact.relationship, -1)) {
+      postLater();
+    }
   }
 
-  // relationship updated -> refresh
+  // relationships counted (after an update) -> replace both names (a rename can merge it into
+  // another relationship)
   @Subscribe(threadMode = ThreadMode.MAIN)
-  public void on(RelationshipUpdated ev) {
-    var result = refresh();
-    EventBus.getDefault().post(new RelationshipsRead(result));
+  public void on(RelationshipsCounted ev) {
+    ev.names.forEach(
+        name -> {
+          put(name, null);
+          _counts.remove(name);
+        });
+    apply(ev.counts);
+    post();
   }
 }
@@ -0,0 +1,20 @@
+package savvy.core.relationship.events;
+
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import savvy.core.relationship.Relationship;
+
+/** fired upon counting the facts of relationships (after one was updated) */
+public final class RelationshipsCounted {
+  public final Set<String> names; // of the relationships counted
+  public final Map<Relationship, Long> counts; // of the ones still used by a fact
+  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+
+  public RelationshipsCounted(Set<String> names, Map<Relationship, Long> counts) {
+    log.info("relationships: {}, counted: {}", names, counts.size());
+    this.names = names;
+    this.counts = counts;
+  }
+}
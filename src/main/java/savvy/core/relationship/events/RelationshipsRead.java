@@ -8,10 +8,12 @@ import savvy.core.relationship.Relationship;
 /** fired upon return of relationships from the DB */
 public final class RelationshipsRead {
   public final List<Relationship> relationships;
+  public final List<String> forms; // every form of the relationships (sorted)
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
-  public RelationshipsRead(List<Relationship> relationships) {
-    log.info("relationships: {}", relationships.size());
+  public RelationshipsRead(List<Relationship> relationships, List<String> forms) {
+    log.info("relationships: {}, forms: {}", relationships.size(), forms.size());
     this.relationships = relationships;
+    this.forms = forms;
   }
 }
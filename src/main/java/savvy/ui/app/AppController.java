@@ -10,11 +10,11 @@ import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.input.KeyCode;
 import javafx.scene.text.Text;
-import org.greenrobot.eventbus.EventBus;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Events;
 import savvy.core.db.EmbeddedNeo4j;
 import savvy.core.entity.Entities;
 import savvy.core.entity.events.DoEntitiesFilter;
@@ -25,12 +25,14 @@ import savvy.core.fact.events.FactDeleted;
 import savvy.core.fact.events.FactUpdated;
 import savvy.core.relationship.Relationships;
 import savvy.core.relationship.events.DoRelationshipsFilter;
+import savvy.ui.common.Suggestions;
 
 /** Controller for the application's main window */
 public class AppController implements Initializable {
   public static AppController instance;
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
+  private final Events _events;
   private final Entities _entities;
   private final Relationships _relationships;
   private final Facts _facts;
@@ -43,11 +45,13 @@ public class AppController implements Initializable {
   @FXML private Tab tab_entities;
   @FXML private Tab tab_relationships;
 
-  public AppController() {
+  /** @param events bus to post & receive events on (shared with the core) */
+  public AppController(Events events) {
     instance = this;
-    _facts = new Facts();
-    _entities = new Entities();
-    _relationships = new Relationships();
+    _events = events;
+    _facts = new Facts(events);
+    _entities = new Entities(events);
+    _relationships = new Relationships(events);
   }
 
   /**
@@ -66,19 +70,20 @@ public class AppController implements Initializable {
   // --- Emitters --------------------------------------------------------------------------------\\
   /** loaded action for the controller overall */
   public void loaded_action() {
-    // register with event bus
-    EventBus.getDefault().register(this);
+    // register with event bus (suggestions first, the inits below post the initial reads)
+    _events.register(this);
+    _events.register(Suggestions.getDefault());
 
     _facts.init(_db);
     _entities.init(_db);
     _relationships.init(_db);
 
     // manually populate the lists
-    EventBus.getDefault().post(new DoFactsSearch(List.of()));
-    EventBus.getDefault().post(new DoRelationshipsFilter(""));
-    EventBus.getDefault().post(new DoEntitiesFilter(""));
+    _events.post(new DoFactsSearch(List.of()));
+    _events.post(new DoRelationshipsFilter(""));
+    _events.post(new DoEntitiesFilter(""));
 
-    Platform.runLater(() -> EventBus.getDefault().post(new TabShown(KeyCode.F)));
+    Platform.runLater(() -> _events.post(new TabShown(KeyCode.F)));
   }
 
   // --- DO listeners ----------------------------------------------------------------------------\\
@@ -88,15 +93,15 @@ public class AppController implements Initializable {
     switch (ev.code) {
       case F:
         tabs.getSelectionModel().select(tab_facts);
-        EventBus.getDefault().post(new TabShown(ev.code));
+        _events.post(new TabShown(ev.code));
         break;
       case E:
         tabs.getSelectionModel().select(tab_entities);
-        EventBus.getDefault().post(new TabShown(ev.code));
+        _events.post(new TabShown(ev.code));
         break;
       case R:
         tabs.getSelectionModel().select(tab_relationships);
-        EventBus.getDefault().post(new TabShown(ev.code));
+        _events.post(new TabShown(ev.code));
         break;
     }
   }
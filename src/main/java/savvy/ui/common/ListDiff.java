@@ -0,0 +1,99 @@
+package savvy.ui.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Updates a list (e.g. a list view's items) to a new snapshot with as few changes as possible, so
+ * unchanged items keep their place, selection and cells. The unchanged head and tail of the list
+ * are skipped; in between, the snapshots are merged (removing, inserting or replacing items).
+ */
+public final class ListDiff {
+  private ListDiff() {}
+
+  /**
+   * updates a list to match a new snapshot
+   *
+   * @param items to update
+   * @param snapshot to match
+   * @param <T> type of the items
+   * @return the number of items removed, inserted or replaced
+   */
+  public static <T extends Comparable<? super T>> int update(
+      List<T> items, Collection<? extends T> snapshot) {
+    List<T> next = new ArrayList<>(snapshot);
+
+    // unchanged head & tail
+    var head = 0;
+    var max = Math.min(items.size(), next.size());
+    while (head < max && items.get(head).equals(next.get(head))) {
+      head++;
+    }
+
+    var tail = 0;
+    while (tail < max - head
+        && items.get(items.size() - 1 - tail).equals(next.get(next.size() - 1 - tail))) {
+      tail++;
+    }
+
+    return merge(items, head, next.subList(head, next.size() - tail), items.size() - tail);
+  }
+
+  /**
+   * merges a snapshot into a range of a list, one item at a time: an item that sorts before the
+   * wanted one is gone (removed), a wanted item that sorts before the item is new (inserted) and an
+   * item that is gone where a new one goes is replaced by it (so its row keeps its cell). Unsorted
+   * snapshots still end up in the list, only with more changes.
+   *
+   * @param items to update
+   * @param start of the range
+   * @param next snapshot of the range
+   * @param end of the range (exclusive)
+   * @param <T> type of the items
+   * @return the number of items removed, inserted or replaced
+   */
+  private static <T extends Comparable<? super T>> int merge(
+      List<T> items, int start, List<T> next, int end) {
+    var changes = 0;
+    var i = start;
+    var j = 0;
+    while (i < end && j < next.size()) {
+      var item = items.get(i);
+      var wanted = next.get(j);
+      var order = item.compareTo(wanted);
+
+      // same position -> keep it (or replace it if it changed)
+      if (order == 0) {
+        if (!item.equals(wanted)) {
+          items.set(i, wanted);
+          changes++;
+        }
+        i++;
+        j++;
+        continue;
+      }
+
+      var gone = order < 0 || j + 1 == next.size() || item.compareTo(next.get(j + 1)) < 0;
+      var added = order > 0 || i + 1 == end || wanted.compareTo(items.get(i + 1)) < 0;
+      if (gone && added) {
+        items.set(i++, wanted);
+        j++;
+      } else if (gone) {
+        items.remove(i);
+        end--;
+      } else {
+        items.add(i++, wanted);
+        j++;
+        end++;
+      }
+      changes++;
+    }
+
+    // rest of the range missing from the snapshot / rest of the snapshot new
+    changes += end - i + next.size() - j;
+    items.subList(i, end).clear();
+    items.addAll(i, next.subList(j, next.size()));
+    return changes;
+  }
+}
@@ -0,0 +1,154 @@
+package savvy.ui.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A multiset of words arranged by (case-insensitive) prefix. Children are kept in order so the
+ * first K completions of a prefix come out sorted without sorting anything, in time proportional
+ * to the prefix length and K rather than to the number of words. A word added several times (e.g.
+ * an alias shared by two entities) stays until it has been removed as many times.
+ *
+ * <p>note: methods are synchronized, suggestions are requested off the JavaFX thread while updates
+ * happen on it
+ */
+public class PrefixTrie {
+  private final Node _root = new Node();
+
+  /**
+   * adds a word
+   *
+   * @param word to add
+   */
+  public synchronized void add(String word) {
+    var node = _root;
+    var path = new ArrayList<Node>();
+    for (var c : key(word).toCharArray()) {
+      path.add(node);
+      node = node.children.computeIfAbsent(c, k -> new Node());
+    }
+
+    var count = node.words.merge(word, 1, Integer::sum);
+    if (count == 1) {
+      path.forEach(n -> n.size++);
+      node.size++;
+    }
+  }
+
+  /**
+   * removes a word (once)
+   *
+   * @param word to remove
+   */
+  public synchronized void remove(String word) {
+    var key = key(word);
+    var path = new ArrayList<Node>();
+    var node = _root;
+    for (var c : key.toCharArray()) {
+      path.add(node);
+      node = node.children.get(c);
+      if (node == null) {
+        return;
+      }
+    }
+
+    var count = node.words.get(word);
+    if (count == null) {
+      return;
+    }
+    if (count > 1) {
+      node.words.put(word, count - 1);
+      return;
+    }
+
+    // last copy -> drop it and prune branches left without words
+    node.words.remove(word);
+    node.size--;
+    for (var i = path.size() - 1; i >= 0; i--) {
+      var parent = path.get(i);
+      parent.size--;
+      var child = parent.children.get(key.charAt(i));
+      if (child.size == 0) {
+        parent.children.remove(key.charAt(i));
+      }
+    }
+  }
+
+  /** removes every word */
+  public synchronized void clear() {
+    _root.children.clear();
+    _root.words.clear();
+    _root.size = 0;
+  }
+
+  /** @return the number of distinct words */
+  public synchronized int size() {
+    return _root.size;
+  }
+
+  /**
+   * finds the first words (in order) starting with a prefix, ignoring case
+   *
+   * @param prefix to complete
+   * @param limit maximum number of words
+   * @return the completions
+   */
+  public synchronized List<String> complete(String prefix, int limit) {
+    var found = new ArrayList<String>(Math.min(limit, 16));
+
+    var node = _root;
+    for (var c : key(prefix).toCharArray()) {
+      node = node.children.get(c);
+      if (node == null) {
+        return found;
+      }
+    }
+
+    collect(node, limit, found);
+    return found;
+  }
+
+  /**
+   * depth first, in order collection of the words below a node
+   *
+   * @param node to collect from
+   * @param limit maximum number of words
+   * @param found the words found so far
+   */
+  private void collect(Node node, int limit, List<String> found) {
+    for (var word : node.words.keySet()) {
+      if (found.size() >= limit) {
+        return;
+      }
+      found.add(word);
+    }
+
+    for (var child : node.children.values()) {
+      if (found.size() >= limit) {
+        return;
+      }
+      collect(child, limit, found);
+    }
+  }
+
+  /**
+   * @param word to find the key of
+   * @return the case-insensitive key of a word
+   */
+  private static String key(String word) {
+    return word.toLowerCase(Locale.ROOT);
+  }
+
+  private static final class Node {
+    final Map<Character, Node> children = new TreeMap<>();
+
+    // words ending here by their original case, with how many times each was added
+    final Map<String, Integer> words = new TreeMap<>();
+
+    // distinct words in this subtree
+    int size;
+  }
+}
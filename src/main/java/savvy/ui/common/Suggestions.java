@@ -0,0 +1,141 @@
+package savvy.ui.common;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javafx.scene.control.TextField;
+import org.controlsfx.control.textfield.AutoCompletionBinding;
+import org.controlsfx.control.textfield.TextFields;
+import org.greenrobot.eventbus.Subscribe;
+import org.greenrobot.eventbus.ThreadMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import savvy.core.entity.Entity;
+import savvy.core.entity.events.EntitiesChanged;
+import savvy.core.entity.events.EntitiesRead;
+import savvy.core.relationship.events.RelationshipsRead;
+
+/**
+ * Autocomplete suggestions shared by every text field. Each vocabulary (entity names, entity
+ * identifiers, relationship forms) is one prefix trie kept up to date from core events, so text
+ * fields are bound once and never re-bound (or re-sorted) when the data changes.
+ */
+public final class Suggestions {
+  public static final int DEFAULT_LIMIT = 10;
+
+  private static Suggestions defaultInstance;
+
+  private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
+
+  private final PrefixTrie _names = new PrefixTrie();
+  private final PrefixTrie _identifiers = new PrefixTrie();
+  private final PrefixTrie _forms = new PrefixTrie();
+
+  // forms currently in the trie (relationship reads carry every form)
+  private final Set<String> _formsAdded = new HashSet<>();
+
+  private Suggestions() {}
+
+  /** @return the shared instance (register it with the event bus to keep it up to date) */
+  public static synchronized Suggestions getDefault() {
+    if (defaultInstance == null) {
+      defaultInstance = new Suggestions();
+    }
+    return defaultInstance;
+  }
+
+  /**
+   * binds entity name suggestions to a text field
+   *
+   * @param field to bind
+   * @return the binding
+   */
+  public AutoCompletionBinding<String> bindNames(TextField field) {
+    return bind(field, _names);
+  }
+
+  /**
+   * binds entity identifier (name & alias) suggestions to a text field
+   *
+   * @param field to bind
+   * @return the binding
+   */
+  public AutoCompletionBinding<String> bindIdentifiers(TextField field) {
+    return bind(field, _identifiers);
+  }
+
+  /**
+   * binds relationship form suggestions to a text field
+   *
+   * @param field to bind
+   * @return the binding
+   */
+  public AutoCompletionBinding<String> bindForms(TextField field) {
+    return bind(field, _forms);
+  }
+
+  /**
+   * @param field to bind
+   * @param trie to suggest from
+   * @return the binding
+   */
+  private static AutoCompletionBinding<String> bind(TextField field, PrefixTrie trie) {
+    return TextFields.bindAutoCompletion(
+        field,
+        request ->
+            request.getUserText().isBlank()
+                ? List.of()
+                : trie.complete(request.getUserText(), DEFAULT_LIMIT));
+  }
+
+  /** @param entities to add */
+  private void add(Collection<Entity> entities) {
+    for (var entity : entities) {
+      _names.add(entity.getName());
+      entity.getIdentifiers().forEach(_identifiers::add);
+    }
+  }
+
+  /** @param entities to remove */
+  private void remove(Collection<Entity> entities) {
+    for (var entity : entities) {
+      _names.remove(entity.getName());
+      entity.getIdentifiers().forEach(_identifiers::remove);
+    }
+  }
+
+  // === events ==================================================================================\\
+  // --- ON listeners ---------------------------------------------------------------------------\\
+  @Subscribe(threadMode = ThreadMode.MAIN)
+  public void on(EntitiesRead ev) {
+    _names.clear();
+    _identifiers.clear();
+    add(ev.entities);
+    log.info("names: {}, identifiers: {}", _names.size(), _identifiers.size());
+  }
+
+  @Subscribe(threadMode = ThreadMode.MAIN)
+  public void on(EntitiesChanged ev) {
+    remove(ev.removed);
+    remove(ev.changed.keySet());
+    add(ev.added);
+    add(ev.changed.values());
+  }
+
+  // only the forms that came or went are touched
+  @Subscribe(threadMode = ThreadMode.MAIN)
+  public void on(RelationshipsRead ev) {
+    var current = new HashSet<>(ev.forms);
+
+    var removed = new HashSet<>(_formsAdded);
+    removed.removeAll(current);
+    removed.forEach(_forms::remove);
+
+    current.removeAll(_formsAdded);
+    current.forEach(_forms::add);
+
+    _formsAdded.removeAll(removed);
+    _formsAdded.addAll(current);
+  }
+}
@@ -2,10 +2,7 @@ package savvy.ui.entities_list;
 
 import java.net.URL;
 import java.util.Collection;
-import java.util.List;
 import java.util.ResourceBundle;
-import java.util.Set;
-import java.util.stream.Collectors;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.ListView;
@@ -13,26 +10,36 @@ import javafx.scene.control.TextField;
 import javafx.scene.input.InputEvent;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
-import org.controlsfx.control.textfield.AutoCompletionBinding;
-import org.controlsfx.control.textfield.TextFields;
-import org.greenrobot.eventbus.EventBus;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Coalescer;
+import savvy.core.Events;
 import savvy.core.entity.Entity;
 import savvy.core.entity.events.DoEntitiesFilter;
+import savvy.core.entity.events.EntitiesChanged;
 import savvy.core.entity.events.EntitiesFiltered;
 import savvy.core.entity.events.EntitiesRead;
 import savvy.ui.app.TabShown;
+import savvy.ui.common.ListDiff;
+import savvy.ui.common.Suggestions;
 
 public class EntitiesListController implements Initializable {
+  // key of list filters, changes in quick succession re-apply the filter once
+  private static final String FILTER = "entitiesList.filter";
+
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
-  @FXML private ListView<EntityItemView> lv_entities;
+  @FXML private ListView<Entity> lv_entities;
   @FXML private TextField _filter;
 
-  private AutoCompletionBinding<String> _fb = null;
+  private final Events _events;
+
+  /** @param events bus to post & receive events on */
+  public EntitiesListController(Events events) {
+    _events = events;
+  }
 
   // moves the caret to a new position
   public void positionCaret() {
@@ -41,39 +48,13 @@ public class EntitiesListController implements Initializable {
     _filter.selectAll();
   }
 
-  /**
-   * updates the autocomplete filter
-   *
-   * @param entities to use for the suggestions
-   */
-  private void updateAutocomplete(Collection<Entity> entities) {
-    // dispose old autocomplete binding if it exists
-    if (_fb != null) {
-      _fb.dispose();
-    }
-
-    var identifiers =
-        entities.stream()
-            .map(Entity::getIdentifiers)
-            .flatMap(Set::stream)
-            .sorted()
-            .collect(Collectors.toList());
-
-    _fb = TextFields.bindAutoCompletion(_filter, identifiers);
-  }
-
   /**
    * updates the entities list view
    *
    * @param entities to populate the list view with
    */
   private void updateEntitiesLV(Collection<Entity> entities) {
-    lv_entities.getItems().clear();
-    List<EntityItemView> layouts =
-        entities.stream()
-            .map(it -> new EntityItemView(it, lv_entities))
-            .collect(Collectors.toList());
-    lv_entities.getItems().addAll(layouts);
+    ListDiff.update(lv_entities.getItems(), entities);
   }
 
   // === events ==================================================================================\\
@@ -95,7 +76,13 @@ public class EntitiesListController implements Initializable {
   // --- Emitters --------------------------------------------------------------------------------\\
   @Override
   public void initialize(URL location, ResourceBundle resources) {
-    EventBus.getDefault().register(this);
+    _events.register(this);
+
+    // items are rendered by recycled cells (only the visible ones exist)
+    lv_entities.setEditable(true);
+    lv_entities.setCellFactory(lv -> new EntityItemView(_events));
+
+    Suggestions.getDefault().bindIdentifiers(_filter);
   }
 
   /** filters the list view */
@@ -103,7 +90,7 @@ public class EntitiesListController implements Initializable {
     var filter = _filter.getText();
     log.info("filter entities list: {}", filter);
 
-    EventBus.getDefault().post(new DoEntitiesFilter(filter));
+    _events.post(new DoEntitiesFilter(filter));
     positionCaret();
   }
 
@@ -111,13 +98,19 @@ public class EntitiesListController implements Initializable {
   // NONE
 
   //  --- ON listeners ---------------------------------------------------------------------------\\
-  // entities read -> update autocomplete & list view
+  // entities read -> update list view
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(EntitiesRead ev) {
-    updateAutocomplete(ev.entities);
     updateEntitiesLV(ev.entities);
   }
 
+  // entities changed -> re-apply the filter to the list view
+  @Subscribe(threadMode = ThreadMode.MAIN)
+  public void on(EntitiesChanged ev) {
+    Coalescer.getDefault()
+        .request(FILTER, () -> _events.post(new DoEntitiesFilter(_filter.getText())));
+  }
+
   // entities filtered -> update list view
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(EntitiesFiltered ev) {
@@ -3,42 +3,41 @@ package savvy.ui.entities_list;
 import java.util.stream.Collectors;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.control.ListView;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
-import org.greenrobot.eventbus.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Events;
 import savvy.core.entity.Entity;
 import savvy.core.entity.events.DoEntityUpdate;
 
-/** controller and layout for an individual Fact Item in the FactsFilterList */
-public class EntityItemView extends HBox {
+/**
+ * controller and layout for the Entity Items in the EntitiesList note: cells are recycled by the
+ * list view, each cell builds its layouts once and only refills them for the item it shows (edit
+ * mode is the list view's editing index, so it stays with the item while scrolling)
+ */
+public class EntityItemView extends ListCell<Entity> {
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
-  private final ListView<EntityItemView> _parent;
-  private Entity _entity;
+  // view mode
+  private final HBox _view = new HBox(10);
+  private final Label _name = new Label();
+  private final Label _aliases = new Label();
 
-  public EntityItemView(Entity entity, ListView<EntityItemView> parent) {
-    super();
-
-    this.setSpacing(10);
+  // edit mode
+  private final HBox _edit = new HBox(10);
+  private final TextField _nameField = new TextField();
+  private final HBox _aliasFields = new HBox();
 
-    _entity = entity;
-    _parent = parent;
+  private final Events _events;
 
-    viewMode();
-  }
-
-  /** creates & wires the layout for this item's view mode */
-  private void viewMode() {
-    var lbl_name = new Label();
-    lbl_name.setText(_entity.getName());
-
-    var lbl_aliases = new Label();
-    lbl_aliases.setText(String.join(", ", _entity.getAliases()));
+  /** @param events bus to post the edits on */
+  public EntityItemView(Events events) {
+    super();
+    _events = events;
 
     var gap = new Region();
     HBox.setHgrow(gap, Priority.ALWAYS);
@@ -50,74 +49,108 @@ public class EntityItemView extends HBox {
 
     var btn_edit = new Button();
     btn_edit.setText("Edit");
-    btn_edit.setOnAction(ev -> this.editMode());
-    this.getChildren().clear();
-    this.getChildren().addAll(lbl_name, lbl_aliases, gap, btn_edit);
+    btn_edit.setOnAction(ev -> getListView().edit(getIndex()));
+    _view.getChildren().addAll(_name, _aliases, gap, btn_edit);
+
+    var editGap = new Region();
+    HBox.setHgrow(editGap, Priority.ALWAYS);
+
+    var btn_cancel = new Button();
+    btn_cancel.setText("Cancel");
+    btn_cancel.setOnAction(ev -> cancelEdit());
+
+    var btn_save = new Button();
+    btn_save.setText("Save");
+    btn_save.setOnAction(ev -> save());
+    _edit.getChildren().addAll(_nameField, _aliasFields, editGap, btn_cancel, btn_save);
   }
 
-  /** creates & wires the layout for this item's edit mode */
-  private void editMode() {
+  @Override
+  protected void updateItem(Entity entity, boolean empty) {
+    super.updateItem(entity, empty);
+    setText(null);
+
+    if (empty || entity == null) {
+      setGraphic(null);
+    } else if (isEditing()) {
+      editMode();
+    } else {
+      viewMode();
+    }
+  }
 
+  @Override
+  public void startEdit() {
+    super.startEdit();
+    if (isEditing()) {
+      editMode();
+    }
+  }
+
+  @Override
+  public void cancelEdit() {
+    super.cancelEdit();
+    if (!isEmpty()) {
+      viewMode();
+    }
+  }
+
+  /** fills & shows this cell's view mode layout */
+  private void viewMode() {
+    _name.setText(getItem().getName());
+    _aliases.setText(String.join(", ", getItem().getAliases()));
+    setGraphic(_view);
+  }
+
+  /** fills & shows this cell's edit mode layout */
+  private void editMode() {
     final double width = this.widthProperty().doubleValue() / 5.0d;
 
-    var name = new TextField();
-    name.setText(_entity.getName());
-    name.setMaxWidth(width);
+    _nameField.setText(getItem().getName());
+    _nameField.setMaxWidth(width);
 
     // for each alias, add a text field
-    var hb_aliases = new HBox();
-    _entity
+    _aliasFields.getChildren().clear();
+    getItem()
         .getAliases()
         .forEach(
             a -> {
               var field = new TextField();
               field.setText(a);
-              hb_aliases.getChildren().add(field);
+              _aliasFields.getChildren().add(field);
             });
 
     // add a blank text field for new aliases
-    hb_aliases.getChildren().add(new TextField());
+    _aliasFields.getChildren().add(new TextField());
 
     // todo when an alias box is blank and is not the last remaining,
     //  remove it when it loses focus
 
-    var gap = new Region();
-    HBox.setHgrow(gap, Priority.ALWAYS);
-
-    var btn_cancel = new Button();
-    btn_cancel.setText("Cancel");
-
-    btn_cancel.setOnAction(ev -> this.viewMode());
+    setGraphic(_edit);
+  }
 
-    var btn_save = new Button();
-    btn_save.setText("Save");
-    btn_save.setOnAction(
-        ev -> {
-          var aliasNames =
-              hb_aliases.getChildren().stream()
-                  .filter(TextField.class::isInstance)
-                  .map(a -> ((TextField) a).getText())
-                  .filter(s -> s.length() > 0)
-                  .collect(Collectors.toSet());
-
-          // go straight to view-mode if no change
-          var entity = new Entity(name.getText(), aliasNames);
-
-          if (_entity.equals(entity)) {
-            this.viewMode();
-            return;
-          }
-
-          // update the relationship data
-          EventBus.getDefault().post(new DoEntityUpdate(_entity, entity));
-
-          // update the relationship
-          this._entity = new Entity(name.getText(), aliasNames);
-
-          // go back to view mode
-          this.viewMode();
-        });
-    this.getChildren().clear();
-    this.getChildren().addAll(name, hb_aliases, gap, btn_cancel, btn_save);
+  /** posts the edited entity (if it changed) and goes back to view mode */
+  private void save() {
+    var aliasNames =
+        _aliasFields.getChildren().stream()
+            .filter(TextField.class::isInstance)
+            .map(a -> ((TextField) a).getText())
+            .filter(s -> s.length() > 0)
+            .collect(Collectors.toSet());
+
+    // go straight to view-mode if no change
+    var entity = new Entity(_nameField.getText(), aliasNames);
+    if (getItem().equals(entity)) {
+      cancelEdit();
+      return;
+    }
+
+    // update the entity data
+    _events.post(new DoEntityUpdate(getItem(), entity));
+
+    // go back to view mode, showing the updated entity
+    var index = getIndex();
+    cancelEdit();
+    getListView().getItems().set(index, entity);
   }
 }
@@ -1,29 +1,29 @@
 package savvy.ui.fact_create;
 
 import java.net.URL;
-import java.util.Collection;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Hyperlink;
 import javafx.scene.control.TextField;
 import javafx.scene.input.InputEvent;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
-import org.controlsfx.control.textfield.AutoCompletionBinding;
-import org.controlsfx.control.textfield.TextFields;
-import org.greenrobot.eventbus.EventBus;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Events;
 import savvy.core.entity.Entity;
-import savvy.core.entity.events.EntitiesRead;
+import savvy.core.fact.Fact;
 import savvy.core.fact.events.DoFactCreate;
-import savvy.core.relationship.Relationship;
-import savvy.core.relationship.events.RelationshipsRead;
+import savvy.core.fact.events.DoFactUpdate;
+import savvy.core.fact.events.FactCreated;
+import savvy.core.fact.events.FactUpdated;
 import savvy.ui.app.TabShown;
+import savvy.ui.common.Suggestions;
 
 /** Controller for the Fact Creation view */
 public class FactCreateController implements Initializable {
@@ -32,10 +32,14 @@ public class FactCreateController implements Initializable {
   @FXML private TextField _subject;
   @FXML private TextField _relationship;
   @FXML private TextField _object;
+  @FXML private Hyperlink _similar;
 
-  private AutoCompletionBinding<String> _sb = null;
-  private AutoCompletionBinding<String> _rb = null;
-  private AutoCompletionBinding<String> _ob = null;
+  private final Events _events;
+
+  /** @param events bus to post & receive events on */
+  public FactCreateController(Events events) {
+    _events = events;
+  }
 
   //  moves the caret to a new position
   public void positionCaret() {
@@ -43,46 +47,44 @@ public class FactCreateController implements Initializable {
     _subject.positionCaret(0);
     _subject.selectAll();
   }
+
   /**
-   * updates the autocomplete filter
+   * shows "did you mean" the most similar entities for the new ones a saved fact created (hidden if
+   * it created none), following the link saves the fact with them instead
    *
-   * @param entities to use for the suggestions
+   * @param fact saved
+   * @param similar each entity the fact created -> the most similar entity's name
    */
-  private void updateEntitiesAutocomplete(Collection<Entity> entities) {
-    // clear old bindings
-    if (_sb != null) {
-      _sb.dispose();
-    }
-
-    if (_ob != null) {
-      _ob.dispose();
+  private void suggest(Fact fact, Map<String, String> similar) {
+    var show = !similar.isEmpty();
+    _similar.setVisible(show);
+    _similar.setManaged(show);
+    if (!show) {
+      return;
     }
 
-    var names = entities.stream().map(Entity::getName).sorted().collect(Collectors.toList());
-    _sb = TextFields.bindAutoCompletion(_subject, names);
-    _ob = TextFields.bindAutoCompletion(_object, names);
+    var instead =
+        new Fact(
+            insteadOf(fact.subject, similar),
+            fact.relationship,
+            insteadOf(fact.object, similar),
+            fact.modifier);
+    _similar.setText("did you mean: " + instead + "?");
+    _similar.setOnAction(
+        ev -> {
+          suggest(instead, Map.of());
+          _events.post(new DoFactUpdate(fact, instead));
+        });
   }
 
   /**
-   * updates the autocomplete filter
-   *
-   * @param relationships to use for the suggestions
+   * @param entity of a saved fact
+   * @param similar each entity the fact created -> the most similar entity's name
+   * @return the entity suggested instead of the given one (or the given one)
    */
-  private void updateRelationshipsAutocomplete(Collection<Relationship> relationships) {
-    // clear old binding
-    if (_rb != null) {
-      _rb.dispose();
-    }
-
-    // todo -- this is messy, receive something clean and use it directly [MBR]
-    var rels =
-        relationships.stream()
-            .map(Relationship::allForms)
-            .flatMap(Set::stream)
-            .sorted()
-            .collect(Collectors.toList());
-
-    _rb = TextFields.bindAutoCompletion(_relationship, rels);
+  private static Entity insteadOf(Entity entity, Map<String, String> similar) {
+    var name = similar.get(entity.getName());
+    return name == null ? entity : new Entity(name, Set.of());
   }
 
   // === events ==================================================================================\\
@@ -104,34 +106,38 @@ public class FactCreateController implements Initializable {
   // --- Emitters --------------------------------------------------------------------------------\\
   @Override
   public void initialize(URL location, ResourceBundle resources) {
-    EventBus.getDefault().register(this);
+    _events.register(this);
+
+    var suggestions = Suggestions.getDefault();
+    suggestions.bindNames(_subject);
+    suggestions.bindForms(_relationship);
+    suggestions.bindNames(_object);
   }
 
   /** saves a fact */
   public void save_action() {
     positionCaret(); //  moves the caret to a new position
-    EventBus.getDefault()
-        .post(new DoFactCreate(_subject.getText(), _relationship.getText(), _object.getText()));
+    _events.post(new DoFactCreate(_subject.getText(), _relationship.getText(), _object.getText()));
   }
   // --- DO listeners ----------------------------------------------------------------------------\\
   // NONE
 
   //  --- ON listeners ---------------------------------------------------------------------------\\
-  // entities read -> update entities autocomplete
+  // tab shown -> position caret
   @Subscribe(threadMode = ThreadMode.MAIN)
-  public void on(EntitiesRead ev) {
-    updateEntitiesAutocomplete(ev.entities);
+  public void on(TabShown ev) {
+    positionCaret();
   }
 
-  // relationships read -> update relationships autocomplete
+  // fact created -> suggest existing entities for the new ones
   @Subscribe(threadMode = ThreadMode.MAIN)
-  public void on(RelationshipsRead ev) {
-    updateRelationshipsAutocomplete(ev.relationships);
+  public void on(FactCreated ev) {
+    suggest(ev.fact, ev.similar);
   }
 
-  // tab shown -> position caret
+  // fact updated -> suggest existing entities for the new ones
   @Subscribe(threadMode = ThreadMode.MAIN)
-  public void on(TabShown ev) {
-    positionCaret();
+  public void on(FactUpdated ev) {
+    suggest(ev.current, ev.similar);
   }
 }
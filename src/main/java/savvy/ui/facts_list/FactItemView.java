@@ -3,148 +3,155 @@ package savvy.ui.facts_list;
 import java.util.Set;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.control.ListView;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
-import org.greenrobot.eventbus.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Events;
 import savvy.core.entity.Entity;
 import savvy.core.fact.Fact;
 import savvy.core.fact.events.DoFactDelete;
 import savvy.core.fact.events.DoFactUpdate;
 import savvy.core.relationship.Relationship;
 
-/** controller and layout for an individual Fact Item in the FactsFilterList */
-public class FactItemView extends HBox {
+/**
+ * controller and layout for the Fact Items in the FactsFilterList note: cells are recycled by the
+ * list view, each cell builds its layouts once and only refills them for the item it shows (edit
+ * mode is the list view's editing index, so it stays with the item while scrolling)
+ */
+public class FactItemView extends ListCell<Fact> {
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
-  private final ListView<FactItemView> _parent;
-  private Fact _fact;
-  private boolean inEditMode = false;
-
-  /**
-   * claims a fact update and applies it
-   *
-   * @param previous fact version
-   * @param current fact version
-   */
-  public void claimUpdate(Fact previous, Fact current) {
-    if (_fact.equals(previous)) {
-      _fact = current;
-      if (inEditMode) {
-        editMode();
-      } else {
-        viewMode();
-      }
-    }
-  }
-
-  public FactItemView(Fact fact, ListView<FactItemView> parent) {
-    super();
-
-    this.setSpacing(10);
+  // view mode
+  private final HBox _view = new HBox(10);
+  private final Label _label = new Label();
 
-    this._fact = fact;
-    this._parent = parent;
+  // edit mode
+  private final HBox _edit = new HBox(10);
+  private final TextField _subject = new TextField();
+  private final TextField _relationship = new TextField();
+  private final TextField _object = new TextField();
 
-    viewMode();
-  }
+  private final Events _events;
 
-  /** creates & wires the layout for this item's view mode */
-  private void viewMode() {
-    inEditMode = false;
-    var label = new Label();
-    label.setText(_fact.toStringWithMods());
+  /** @param events bus to post the edits on */
+  public FactItemView(Events events) {
+    super();
+    _events = events;
 
     var gap = new Region();
     HBox.setHgrow(gap, Priority.ALWAYS);
 
     var btn_delete = new Button();
     btn_delete.setText("Delete");
-
     btn_delete.setOnAction(
         ev -> {
-          EventBus.getDefault().post(new DoFactDelete(_fact));
-          _parent.getItems().remove(this);
+          var fact = getItem();
+          _events.post(new DoFactDelete(fact));
+          getListView().getItems().remove(fact);
         });
 
     var btn_edit = new Button();
     btn_edit.setText("Edit");
-    btn_edit.setOnAction(ev -> this.editMode());
-    this.getChildren().clear();
-    this.getChildren().addAll(label, gap, btn_edit, btn_delete);
-  }
+    btn_edit.setOnAction(ev -> getListView().edit(getIndex()));
+    _view.getChildren().addAll(_label, gap, btn_edit, btn_delete);
 
-  /** creates & wires the layout for this item's edit mode */
-  private void editMode() {
-    inEditMode = true;
+    var editGap = new Region();
+    HBox.setHgrow(editGap, Priority.ALWAYS);
 
-    final double width = this.widthProperty().doubleValue() / 5.0d;
-
-    var subject = new TextField();
-    var sTxt = _fact.subject.getName();
-    if (!_fact.modifier.subject.isBlank()) {
-      sTxt = _fact.modifier.subject + "; " + sTxt;
-    }
+    var btn_cancel = new Button();
+    btn_cancel.setText("Cancel");
+    btn_cancel.setOnAction(ev -> cancelEdit());
 
-    subject.setText(sTxt);
-    subject.setMaxWidth(width);
+    var btn_save = new Button();
+    btn_save.setText("Save");
+    btn_save.setOnAction(ev -> save());
+    _edit.getChildren().addAll(_subject, _relationship, _object, editGap, btn_cancel, btn_save);
+  }
 
-    var relationship = new TextField();
-    var rTxt = _fact.relationship.getName();
-    if (!_fact.modifier.relationship.isBlank()) {
-      rTxt = _fact.modifier.relationship + "; " + rTxt;
+  @Override
+  protected void updateItem(Fact fact, boolean empty) {
+    super.updateItem(fact, empty);
+    setText(null);
+
+    if (empty || fact == null) {
+      setGraphic(null);
+    } else if (isEditing()) {
+      editMode();
+    } else {
+      viewMode();
     }
+  }
 
-    relationship.setText(rTxt);
-    relationship.setMaxWidth(width);
-
-    var object = new TextField();
-    var oTxt = _fact.object.getName();
-    if (!_fact.modifier.object.isBlank()) {
-      oTxt = _fact.modifier.object + "; " + oTxt;
+  @Override
+  public void startEdit() {
+    super.startEdit();
+    if (isEditing()) {
+      editMode();
     }
-    object.setText(oTxt);
-    object.setMaxWidth(width);
+  }
 
-    var gap = new Region();
-    HBox.setHgrow(gap, Priority.ALWAYS);
+  @Override
+  public void cancelEdit() {
+    super.cancelEdit();
+    if (!isEmpty()) {
+      viewMode();
+    }
+  }
 
-    var btn_cancel = new Button();
-    btn_cancel.setText("Cancel");
+  /** fills & shows this cell's view mode layout */
+  private void viewMode() {
+    _label.setText(getItem().toStringWithMods());
+    setGraphic(_view);
+  }
 
-    btn_cancel.setOnAction(ev -> this.viewMode());
+  /** fills & shows this cell's edit mode layout */
+  private void editMode() {
+    var fact = getItem();
+    final double width = this.widthProperty().doubleValue() / 5.0d;
 
-    var btn_save = new Button();
-    btn_save.setText("Save");
-    btn_save.setOnAction(
-        ev -> {
-          // todo -- this should look at verbatim instead of components
+    var sTxt = fact.subject.getName();
+    if (!fact.modifier.subject.isBlank()) {
+      sTxt = fact.modifier.subject + "; " + sTxt;
+    }
+    _subject.setText(sTxt);
+    _subject.setMaxWidth(width);
 
-          // go straight to view-mode if no change
-          var s = new Entity(subject.getText(), Set.of());
-          var r = new Relationship(relationship.getText(), Set.of());
-          var o = new Entity(object.getText(), Set.of());
-          var m = this._fact.modifier;
-          var fact = new Fact(s, r, o, m);
+    var rTxt = fact.relationship.getName();
+    if (!fact.modifier.relationship.isBlank()) {
+      rTxt = fact.modifier.relationship + "; " + rTxt;
+    }
+    _relationship.setText(rTxt);
+    _relationship.setMaxWidth(width);
 
-          if (this._fact.equals(fact)) {
-            this.viewMode();
-            return;
-          }
+    var oTxt = fact.object.getName();
+    if (!fact.modifier.object.isBlank()) {
+      oTxt = fact.modifier.object + "; " + oTxt;
+    }
+    _object.setText(oTxt);
+    _object.setMaxWidth(width);
 
-          // update the fact data
-          EventBus.getDefault().post(new DoFactUpdate(_fact, fact));
+    setGraphic(_edit);
+  }
 
-          // don't update the underlying fact -- it is handled by event bus
+  /** posts the edited fact (if it changed) and goes back to view mode */
+  private void save() {
+    // todo -- this should look at verbatim instead of components
+    var s = new Entity(_subject.getText(), Set.of());
+    var r = new Relationship(_relationship.getText(), Set.of());
+    var o = new Entity(_object.getText(), Set.of());
+    var fact = new Fact(s, r, o, getItem().modifier);
+
+    // update the fact data (if it changed)
+    // don't update the underlying fact -- it is handled by event bus
+    if (!getItem().equals(fact)) {
+      _events.post(new DoFactUpdate(getItem(), fact));
+    }
 
-          // go back to view mode
-          this.viewMode();
-        });
-    this.getChildren().clear();
-    this.getChildren().addAll(subject, relationship, object, gap, btn_cancel, btn_save);
+    // go back to view mode
+    cancelEdit();
   }
 }
@@ -4,25 +4,27 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Hyperlink;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
-import org.controlsfx.control.textfield.AutoCompletionBinding;
-import org.controlsfx.control.textfield.TextFields;
-import org.greenrobot.eventbus.EventBus;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import savvy.core.entity.Entity;
-import savvy.core.entity.events.EntitiesRead;
+import savvy.core.Coalescer;
+import savvy.core.Events;
+import savvy.core.db.NeighbourhoodOptions;
+import savvy.core.db.PageCursor;
+import savvy.core.db.PathOptions;
 import savvy.core.entity.events.EntityUpdated;
 import savvy.core.fact.Fact;
 import savvy.core.fact.events.DoFactsSearch;
@@ -30,61 +32,89 @@ import savvy.core.fact.events.FactCreated;
 import savvy.core.fact.events.FactUpdated;
 import savvy.core.fact.events.FactsSearched;
 import savvy.core.relationship.events.RelationshipUpdated;
+import savvy.ui.common.ListDiff;
+import savvy.ui.common.Suggestions;
 
 /** Controller for the Fact Item list and filter */
 public class FactsListController implements Initializable {
+  // key of list re-searches, updates in quick succession search once
+  private static final String SEARCH = "factsList.search";
 
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
-  @FXML private ListView<FactItemView> lv_facts;
+  @FXML private ListView<Fact> lv_facts;
   @FXML private TextField _filter_A;
   @FXML private TextField _filter_B;
   @FXML private HBox _filters;
-  private AutoCompletionBinding<String> _fAb = null;
-  private AutoCompletionBinding<String> _fBb = null;
-  private List<String> _identifiers;
+  @FXML private Button btn_more;
+  @FXML private Hyperlink _similar;
+
+  // the last search shown & where its next page starts (null if there are no more facts)
+  private List<String> _searched = List.of();
+  private PageCursor _next = null;
+
+  private final Events _events;
+
+  /** @param events bus to post & receive events on */
+  public FactsListController(Events events) {
+    _events = events;
+  }
 
   /**
-   * updates the autocomplete filter
+   * replaces a fact shown in the list view
    *
-   * @param entities to use for the suggestions
+   * @param previous fact version
+   * @param current fact version
    */
-  private void updateEntitiesAutocomplete(Collection<Entity> entities) {
-    // clear old bindings
-    if (_fAb != null) {
-      _fAb.dispose();
-    }
-
-    if (_fBb != null) {
-      _fBb.dispose();
+  private void refreshFact(Fact previous, Fact current) {
+    var items = lv_facts.getItems();
+    var index = items.indexOf(previous);
+    if (index >= 0) {
+      items.set(index, current);
     }
+  }
 
-    // todo -- this is messy, receive something clean and use it directly [MBR]
-    _identifiers =
-        entities.stream()
-            .map(Entity::getIdentifiers)
-            .flatMap(Set::stream)
-            .sorted()
-            .collect(Collectors.toList());
+  /**
+   * updates the facts in the list view (only the facts that changed)
+   *
+   * @param facts to populate into the view
+   */
+  private void refresh(Collection<Fact> facts) {
+    ListDiff.update(lv_facts.getItems(), facts);
+  }
 
-    _fAb = TextFields.bindAutoCompletion(_filter_A, _identifiers);
-    _fBb = TextFields.bindAutoCompletion(_filter_B, _identifiers);
+  /** searches all facts again, shortly (requests in quick succession are searched once) */
+  private void research() {
+    Coalescer.getDefault().request(SEARCH, () -> _events.post(new DoFactsSearch(List.of())));
   }
 
-  private void refreshFact(Fact previous, Fact current) {
-    lv_facts.getItems().forEach(it -> it.claimUpdate(previous, current));
+  /**
+   * adds a following page of facts to the list view
+   *
+   * @param facts to add to the view
+   */
+  private void append(Collection<Fact> facts) {
+    lv_facts.getItems().addAll(facts);
   }
 
   /**
-   * clears and repopulates the facts in the list view
+   * offers to search the most similar entities instead of the filters that are not entities (until
+   * the next search)
    *
-   * @param facts to populate into the view
+   * @param filters searched
+   * @param similar the most similar entity of each filter that is not an entity
    */
-  private void refresh(Collection<Fact> facts) {
-    lv_facts.getItems().clear();
-    List<FactItemView> layouts =
-        facts.stream().map(it -> new FactItemView(it, lv_facts)).collect(Collectors.toList());
+  private void suggest(List<String> filters, Map<String, String> similar) {
+    var show = !similar.isEmpty();
+    _similar.setVisible(show);
+    _similar.setManaged(show);
+    if (!show) {
+      return;
+    }
 
-    lv_facts.getItems().addAll(layouts);
+    var instead =
+        filters.stream().map(f -> similar.getOrDefault(f, f)).collect(Collectors.toList());
+    _similar.setText("did you mean: " + String.join(", ", instead) + "?");
+    _similar.setOnAction(ev -> _events.post(new DoFactsSearch(instead)));
   }
 
   // todo -- this does not work due to
@@ -112,7 +142,7 @@ public class FactsListController implements Initializable {
 
     var toAdd = new TextField();
     toAdd.setOnKeyTyped(ev -> updateFilterFields());
-    TextFields.bindAutoCompletion(toAdd, _identifiers);
+    Suggestions.getDefault().bindIdentifiers(toAdd);
     toAdd.setOnAction(ev -> filter_action());
     toAdd.setId("f" + s.getAndIncrement());
 
@@ -124,7 +154,14 @@ public class FactsListController implements Initializable {
   // --- Emitters --------------------------------------------------------------------------------\\
   @Override
   public void initialize(URL location, ResourceBundle resources) {
-    EventBus.getDefault().register(this);
+    _events.register(this);
+
+    // items are rendered by recycled cells (only the visible ones exist)
+    lv_facts.setEditable(true);
+    lv_facts.setCellFactory(lv -> new FactItemView(_events));
+
+    Suggestions.getDefault().bindIdentifiers(_filter_A);
+    Suggestions.getDefault().bindIdentifiers(_filter_B);
   }
 
   /** filters the facts list view */
@@ -136,7 +173,7 @@ public class FactsListController implements Initializable {
     log.info("filter facts list -- A: {}, B: {}", filterA, filterB);
 
     // search for both
-    EventBus.getDefault().post(new DoFactsSearch(List.of(filterA, filterB)));
+    _events.post(new DoFactsSearch(List.of(filterA, filterB)));
 
     _filter_A.clear();
     _filter_B.clear();
@@ -144,6 +181,17 @@ public class FactsListController implements Initializable {
     _filter_A.requestFocus();
   }
 
+  /** reads the next page of the facts list view */
+  @FXML
+  private void more_action() {
+    if (_next == null) {
+      return;
+    }
+
+    _events.post(
+        new DoFactsSearch(_searched, PathOptions.DEFAULT, NeighbourhoodOptions.DEFAULT, _next));
+  }
+
   // --- DO listeners ----------------------------------------------------------------------------\\
   // NONE
 
@@ -151,19 +199,22 @@ public class FactsListController implements Initializable {
   // related facts read -> populate facts list
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(FactsSearched ev) {
-    refresh(ev.facts);
-  }
+    if (ev.cursor == null) {
+      refresh(ev.facts);
+      suggest(ev.filters, ev.similar);
+    } else {
+      append(ev.facts);
+    }
 
-  // entities names updated -> autocomplete list
-  @Subscribe(threadMode = ThreadMode.MAIN)
-  public void on(EntitiesRead ev) {
-    updateEntitiesAutocomplete(ev.entities);
+    _searched = ev.filters;
+    _next = ev.next;
+    btn_more.setDisable(_next == null);
   }
 
   // fact created -> add item to facts list
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(FactCreated ev) {
-    lv_facts.getItems().add(new FactItemView(ev.fact, lv_facts));
+    lv_facts.getItems().add(ev.fact);
   }
 
   // fact updated -> item's internal values
@@ -172,13 +223,15 @@ public class FactsListController implements Initializable {
     refreshFact(ev.previous, ev.current);
   }
 
+  // entity updated -> search again (once for updates in quick succession)
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(EntityUpdated ev) {
-    EventBus.getDefault().post(new DoFactsSearch(List.of()));
+    research();
   }
 
+  // relationship updated -> search again (once for updates in quick succession)
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(RelationshipUpdated ev) {
-    EventBus.getDefault().post(new DoFactsSearch(List.of()));
+    research();
   }
 }
@@ -0,0 +1,101 @@
+package savvy.ui.menu_bar;
+
+import java.util.function.Function;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import savvy.core.Coalescer;
+import savvy.core.Metrics;
+import savvy.core.OperationStats;
+
+/**
+ * shows the statistics of every timed operation (see Metrics) & of the coalesced refreshes,
+ * refreshed every second while open
+ */
+public class Diagnostics {
+  private static final Duration REFRESH = Duration.seconds(1);
+
+  /** opens the diagnostics in a new window */
+  public static void show() {
+    var table = new TableView<OperationStats>();
+    table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+    table.getColumns().add(column("operation", OperationStats::getName));
+    table.getColumns().add(column("count", OperationStats::getCount));
+    table.getColumns().add(column("errors", OperationStats::getErrors));
+    table.getColumns().add(column("mean ms", s -> millis(s.getMeanMillis())));
+    table.getColumns().add(column("p50 ms", s -> millis(s.getP50Millis())));
+    table.getColumns().add(column("p95 ms", s -> millis(s.getP95Millis())));
+    table.getColumns().add(column("p99 ms", s -> millis(s.getP99Millis())));
+    table.getColumns().add(column("max ms", s -> millis(s.getMaxMillis())));
+    table.getColumns().add(column("mean size", s -> String.format("%.1f", s.getMeanSize())));
+    table.getColumns().add(column("max size", OperationStats::getMaxSize));
+    VBox.setVgrow(table, Priority.ALWAYS);
+
+    var coalesced = new Label();
+    var reset = new Button("Reset");
+    var bar = new HBox(10, reset, coalesced);
+
+    Runnable refresh =
+        () -> {
+          var coalescer = Coalescer.getDefault();
+          table.getItems().setAll(Metrics.getDefault().operations());
+          table.refresh();
+          coalesced.setText(
+              String.format(
+                  "refreshes -- requested: %d, run: %d, saved: %d",
+                  coalescer.requested(), coalescer.refreshed(), coalescer.saved()));
+        };
+    reset.setOnAction(
+        e -> {
+          Metrics.getDefault().reset();
+          refresh.run();
+        });
+    refresh.run();
+
+    // refresh while open
+    var timeline = new Timeline(new KeyFrame(REFRESH, e -> refresh.run()));
+    timeline.setCycleCount(Animation.INDEFINITE);
+    timeline.play();
+
+    var box = new VBox(10, table, bar);
+    box.setPadding(new Insets(10));
+
+    var stage = new Stage();
+    stage.setScene(new Scene(box, 900, 500));
+    stage.setTitle("Diagnostics");
+    stage.setOnHidden(e -> timeline.stop());
+    stage.show();
+  }
+
+  /**
+   * @param title of the column
+   * @param value of each row's cell
+   * @return a read-only column
+   */
+  private static <T> TableColumn<OperationStats, T> column(
+      String title, Function<OperationStats, T> value) {
+    var column = new TableColumn<OperationStats, T>(title);
+    column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+    return column;
+  }
+
+  /**
+   * @param millis duration
+   * @return the duration formatted for a cell
+   */
+  private static String millis(double millis) {
+    return String.format("%.2f", millis);
+  }
+}
@@ -201,6 +201,16 @@ public class MenubarController implements Initializable {
     stage.show();
   }
 
+  /**
+   * Handle action related to "Diagnostics" menu item.
+   *
+   * @param event Event on "Diagnostics" menu item.
+   */
+  @FXML
+  private void handleDiagnosticsAction(final ActionEvent event) {
+    Diagnostics.show();
+  }
+
   @Override
   public void initialize(java.net.URL arg0, ResourceBundle arg1) {
     menuBar.setFocusTraversable(true);
@@ -1,51 +1,45 @@
 package savvy.ui.relationships_list;
 
-import java.util.Set;
 import java.util.stream.Collectors;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.control.ListView;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
-import org.greenrobot.eventbus.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Events;
 import savvy.core.relationship.Correlate;
 import savvy.core.relationship.Relationship;
 import savvy.core.relationship.events.DoRelationshipUpdate;
 import savvy.ui.common.TextFieldUtil;
 
-/** The type Relationship item view. */
-public class RelationshipItemView extends HBox {
+/**
+ * The type Relationship item view. note: cells are recycled by the list view, each cell builds its
+ * layouts once and only refills them for the item it shows (edit mode is the list view's editing
+ * index, so it stays with the item while scrolling)
+ */
+public class RelationshipItemView extends ListCell<Relationship> {
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
-  private final ListView<RelationshipItemView> _parent;
-  private Relationship _relationship;
+  // view mode
+  private final HBox _view = new HBox(10);
+  private final Label _name = new Label();
+  private final Label _correlates = new Label();
 
-  public RelationshipItemView(Relationship relationship, ListView<RelationshipItemView> parent) {
-    super();
-
-    this.setSpacing(10);
-
-    _relationship = relationship;
-    _parent = parent;
-
-    viewMode();
-  }
+  // edit mode
+  private final HBox _edit = new HBox(10);
+  private final TextField _nameField = new TextField();
+  private final HBox _correlateFields = new HBox();
 
-  private void viewMode() {
-    var lbl_name = new Label();
-    lbl_name.setText(_relationship.getName());
+  private final Events _events;
 
-    var correlates =
-        _relationship.getCorrelates().stream()
-            .map(c -> c.outbound + " ⇔ " + c.inbound)
-            .sorted()
-            .collect(Collectors.toList());
-    var lbl_correlates = new Label();
-    lbl_correlates.setText(String.join(", ", correlates));
+  /** @param events bus to post the edits on */
+  public RelationshipItemView(Events events) {
+    super();
+    _events = events;
 
     var gap = new Region();
     HBox.setHgrow(gap, Priority.ALWAYS);
@@ -57,59 +51,100 @@ public class RelationshipItemView extends HBox {
 
     var btn_edit = new Button();
     btn_edit.setText("Edit");
-    btn_edit.setOnAction(ev -> this.editMode());
-    this.getChildren().clear();
-    this.getChildren().addAll(lbl_name, lbl_correlates, gap, btn_edit);
+    btn_edit.setOnAction(ev -> getListView().edit(getIndex()));
+    _view.getChildren().addAll(_name, _correlates, gap, btn_edit);
+
+    TextFieldUtil.addAutoWidth(_nameField, 70, 150);
+
+    var editGap = new Region();
+    HBox.setHgrow(editGap, Priority.ALWAYS);
+
+    var btn_cancel = new Button();
+    btn_cancel.setText("Cancel");
+    btn_cancel.setOnAction(ev -> cancelEdit());
+
+    var btn_save = new Button();
+    btn_save.setText("Save");
+    btn_save.setOnAction(ev -> save());
+    _edit.getChildren().addAll(_nameField, _correlateFields, editGap, btn_cancel, btn_save);
   }
 
-  private void editMode() {
+  @Override
+  protected void updateItem(Relationship relationship, boolean empty) {
+    super.updateItem(relationship, empty);
+    setText(null);
+
+    if (empty || relationship == null) {
+      setGraphic(null);
+    } else if (isEditing()) {
+      editMode();
+    } else {
+      viewMode();
+    }
+  }
 
-    var name = new TextField();
-    name.setText(_relationship.getName());
-    TextFieldUtil.addAutoWidth(name, 70, 150);
+  @Override
+  public void startEdit() {
+    super.startEdit();
+    if (isEditing()) {
+      editMode();
+    }
+  }
 
-    var hb_correlates = new HBox();
+  @Override
+  public void cancelEdit() {
+    super.cancelEdit();
+    if (!isEmpty()) {
+      viewMode();
+    }
+  }
 
-    _relationship.getCorrelates().forEach(c -> hb_correlates.getChildren().add(toUI(c)));
+  /** fills & shows this cell's view mode layout */
+  private void viewMode() {
+    _name.setText(getItem().getName());
 
-    hb_correlates.getChildren().add(toUI(new Correlate("", "")));
+    var correlates =
+        getItem().getCorrelates().stream()
+            .map(c -> c.outbound + " ⇔ " + c.inbound)
+            .sorted()
+            .collect(Collectors.toList());
+    _correlates.setText(String.join(", ", correlates));
+    setGraphic(_view);
+  }
 
-    var gap = new Region();
-    HBox.setHgrow(gap, Priority.ALWAYS);
+  /** fills & shows this cell's edit mode layout */
+  private void editMode() {
+    _nameField.setText(getItem().getName());
 
-    var btn_cancel = new Button();
-    btn_cancel.setText("Cancel");
+    _correlateFields.getChildren().clear();
+    getItem().getCorrelates().forEach(c -> _correlateFields.getChildren().add(toUI(c)));
+    _correlateFields.getChildren().add(toUI(new Correlate("", "")));
 
-    btn_cancel.setOnAction(ev -> this.viewMode());
-    var btn_save = new Button();
-    btn_save.setText("Save");
-    btn_save.setOnAction(
-        ev -> {
-          var correlates =
-              hb_correlates.getChildren().stream()
-                  .map(c -> fromUI((HBox) c))
-                  .filter(c -> c.inbound.length() > 0 && c.outbound.length() > 0)
-                  .collect(Collectors.toSet());
-
-          // go straight to view-mode if no change
-          var relationship = new Relationship(name.getText(), correlates);
-
-          if (_relationship.equals(relationship)) {
-            this.viewMode();
-            return;
-          }
-
-          // update the relationship data
-          EventBus.getDefault().post(new DoRelationshipUpdate(_relationship, relationship));
-
-          // update the relationship
-          this._relationship = new Relationship(name.getText(), Set.of());
-
-          // go back to view mode
-          this.viewMode();
-        });
-    this.getChildren().clear();
-    this.getChildren().addAll(name, hb_correlates, gap, btn_cancel, btn_save);
+    setGraphic(_edit);
+  }
+
+  /** posts the edited relationship (if it changed) and goes back to view mode */
+  private void save() {
+    var correlates =
+        _correlateFields.getChildren().stream()
+            .map(c -> fromUI((HBox) c))
+            .filter(c -> c.inbound.length() > 0 && c.outbound.length() > 0)
+            .collect(Collectors.toSet());
+
+    // go straight to view-mode if no change
+    var relationship = new Relationship(_nameField.getText(), correlates);
+    if (getItem().equals(relationship)) {
+      cancelEdit();
+      return;
+    }
+
+    // update the relationship data
+    _events.post(new DoRelationshipUpdate(getItem(), relationship));
+
+    // go back to view mode, showing the updated relationship
+    var index = getIndex();
+    cancelEdit();
+    getListView().getItems().set(index, relationship);
   }
 
   /**
@@ -3,8 +3,6 @@ package savvy.ui.relationships_list;
 import java.net.URL;
 import java.util.Collection;
 import java.util.ResourceBundle;
-import java.util.Set;
-import java.util.stream.Collectors;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.ListView;
@@ -12,26 +10,31 @@ import javafx.scene.control.TextField;
 import javafx.scene.input.InputEvent;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
-import org.controlsfx.control.textfield.AutoCompletionBinding;
-import org.controlsfx.control.textfield.TextFields;
-import org.greenrobot.eventbus.EventBus;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import savvy.core.Events;
 import savvy.core.relationship.Relationship;
 import savvy.core.relationship.events.DoRelationshipsFilter;
 import savvy.core.relationship.events.RelationshipsFiltered;
 import savvy.core.relationship.events.RelationshipsRead;
 import savvy.ui.app.TabShown;
+import savvy.ui.common.ListDiff;
+import savvy.ui.common.Suggestions;
 
 public class RelationshipsListController implements Initializable {
   private final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
-  @FXML private ListView<RelationshipItemView> lv_relationships;
+  @FXML private ListView<Relationship> lv_relationships;
   @FXML private TextField _filter;
 
-  private AutoCompletionBinding<String> _fb = null;
+  private final Events _events;
+
+  /** @param events bus to post & receive events on */
+  public RelationshipsListController(Events events) {
+    _events = events;
+  }
 
   // moves the caret to a new position
   public void positionCaret() {
@@ -40,37 +43,13 @@ public class RelationshipsListController implements Initializable {
     _filter.selectAll();
   }
 
-  /**
-   * updates the autocomplete filter
-   *
-   * @param relationships to use for the suggestions
-   */
-  private void updateAutocomplete(Collection<Relationship> relationships) {
-    // dispose old autocomplete binding if it exists
-    if (_fb != null) {
-      _fb.dispose();
-    }
-    var available =
-        relationships.stream()
-            .map(Relationship::allForms)
-            .flatMap(Set::stream)
-            .sorted()
-            .collect(Collectors.toList());
-    _fb = TextFields.bindAutoCompletion(_filter, available);
-  }
-
   /**
    * updates the relationships list view
    *
    * @param relationships to populate the list view with
    */
   private void updateRelationshipsLV(Collection<Relationship> relationships) {
-    lv_relationships.getItems().clear();
-    var layouts =
-        relationships.stream()
-            .map(it -> new RelationshipItemView(it, lv_relationships))
-            .collect(Collectors.toList());
-    lv_relationships.getItems().addAll(layouts);
+    ListDiff.update(lv_relationships.getItems(), relationships);
   }
 
   // === events ==================================================================================\\
@@ -92,7 +71,13 @@ public class RelationshipsListController implements Initializable {
   // --- Emitters --------------------------------------------------------------------------------\\
   @Override
   public void initialize(URL location, ResourceBundle resources) {
-    EventBus.getDefault().register(this);
+    _events.register(this);
+
+    // items are rendered by recycled cells (only the visible ones exist)
+    lv_relationships.setEditable(true);
+    lv_relationships.setCellFactory(lv -> new RelationshipItemView(_events));
+
+    Suggestions.getDefault().bindForms(_filter);
   }
 
   /** filters the relationships view */
@@ -100,7 +85,7 @@ public class RelationshipsListController implements Initializable {
     var filter = _filter.getText();
     log.info("filter relationships list: {}", filter);
 
-    EventBus.getDefault().post(new DoRelationshipsFilter(filter));
+    _events.post(new DoRelationshipsFilter(filter));
     _filter.clear();
     _filter.requestFocus();
   }
@@ -109,10 +94,9 @@ public class RelationshipsListController implements Initializable {
   // NONE
 
   //  --- ON listeners ---------------------------------------------------------------------------\\
-  // relationship names updated -> update autocomplete & list view
+  // relationship names updated -> update list view
   @Subscribe(threadMode = ThreadMode.MAIN)
   public void on(RelationshipsRead ev) {
-    updateAutocomplete(ev.relationships);
     updateRelationshipsLV(ev.relationships);
   }
 
@@ -0,0 +1,42 @@
+package savvy.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CoalescerTest {
+  private final Coalescer coalescer = new Coalescer(50, Runnable::run);
+
+  @AfterEach
+  void tearDown() {
+    coalescer.shutDown();
+  }
+
+  @Test
+  void requestsWithinTheWindowRefreshOnce() throws InterruptedException {
+    var done = new CountDownLatch(1);
+    var results = new CopyOnWriteArrayList<Integer>();
+
+    for (var i = 0; i < 10; i++) {
+      var n = i;
+      coalescer.request(
+          "refresh",
+          () -> {
+            results.add(n);
+            done.countDown();
+          });
+    }
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of(9), results);
+    assertEquals(10, coalescer.requested());
+    assertEquals(1, coalescer.refreshed());
+    assertEquals(9, coalescer.saved());
+  }
+}
@@ -0,0 +1,129 @@
+package savvy.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CoreExecutorTest {
+  private final CoreExecutor executor = new CoreExecutor(1, Runnable::run);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutDown();
+  }
+
+  @Test
+  void staleReadIsDiscarded() throws InterruptedException {
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var done = new CountDownLatch(1);
+    var results = new CopyOnWriteArrayList<String>();
+
+    executor.read(
+        "search",
+        () -> {
+          started.countDown();
+          await(release);
+          return "old";
+        },
+        results::add);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    executor.read(
+        "search",
+        () -> "new",
+        r -> {
+          results.add(r);
+          done.countDown();
+        });
+    release.countDown();
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of("new"), results);
+  }
+
+  @Test
+  void completedReadsAreForgotten() throws InterruptedException {
+    var reads = CoreExecutor.DEFAULT_QUEUE_SIZE / 2;
+    var done = new CountDownLatch(reads);
+
+    // one reader -> the read without a result completes before the others
+    executor.read("empty", () -> null, r -> {});
+    for (var i = 0; i < reads; i++) {
+      executor.read("search" + i, () -> "found", r -> done.countDown());
+    }
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(0, executor.pending());
+  }
+
+  @Test
+  void fullQueueNeverRunsReadsOnTheCaller() throws InterruptedException {
+    var reads = 10 * CoreExecutor.DEFAULT_QUEUE_SIZE;
+    var done = new CountDownLatch(1);
+    var threads = new CopyOnWriteArrayList<Thread>();
+
+    // superseded reads are purged to make room -> the latest one still runs
+    var release = new CountDownLatch(1);
+    executor.read("block", () -> await(release), r -> {});
+    for (var i = 0; i < reads; i++) {
+      var n = i;
+      executor.read(
+          "search",
+          () -> {
+            threads.add(Thread.currentThread());
+            return n;
+          },
+          r -> done.countDown());
+    }
+    assertTrue(threads.isEmpty());
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+
+    // distinct reads beyond the queue are dropped
+    var blocked = new CountDownLatch(1);
+    executor.read("block", () -> await(blocked), r -> {});
+    for (var i = 0; i < reads; i++) {
+      executor.read("search" + i, () -> threads.add(Thread.currentThread()), r -> {});
+    }
+    assertEquals(1, threads.size());
+    blocked.countDown();
+
+    assertFalse(threads.contains(Thread.currentThread()));
+  }
+
+  @Test
+  void writesRunInOrder() throws InterruptedException {
+    var done = new CountDownLatch(3);
+    var results = new CopyOnWriteArrayList<Integer>();
+
+    for (var i = 0; i < 3; i++) {
+      var n = i;
+      executor.write(
+          () -> n,
+          r -> {
+            results.add(r);
+            done.countDown();
+          });
+    }
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of(0, 1, 2), results);
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
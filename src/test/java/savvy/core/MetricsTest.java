@@ -0,0 +1,55 @@
+package savvy.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MetricsTest {
+  private final Metrics metrics = new Metrics();
+
+  @Test
+  void countsCallsErrorsAndSizes() {
+    assertEquals(Set.of(1, 2), metrics.time("Dao.read", () -> Set.of(1, 2), Set::size));
+    metrics.time("Dao.read", () -> Set.of(1, 2, 3, 4), Set::size);
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            metrics.run(
+                "Dao.write",
+                () -> {
+                  throw new IllegalStateException();
+                }));
+
+    var read = metrics.operation("Dao.read");
+    assertEquals(2, read.getCount());
+    assertEquals(0, read.getErrors());
+    assertEquals(3.0, read.getMeanSize());
+    assertEquals(4, read.getMaxSize());
+    assertEquals(1, metrics.operation("Dao.write").getErrors());
+    assertEquals(List.of(read, metrics.operation("Dao.write")), metrics.operations());
+
+    metrics.reset();
+    assertEquals(0, read.getCount());
+  }
+
+  @Test
+  void percentilesAreWithinABucket() {
+    var histogram = new Histogram();
+    for (var value = 1; value <= 1_000; value++) {
+      histogram.record(value * 1_000L);
+    }
+
+    for (var fraction : new double[] {0.5, 0.95, 0.99}) {
+      var exact = fraction * 1_000_000;
+      var percentile = histogram.percentile(fraction);
+      assertTrue(percentile >= exact && percentile <= exact * 1.13, fraction + ": " + percentile);
+    }
+    assertEquals(1_000_000, histogram.percentile(1));
+    assertEquals(1_000_000, histogram.max());
+    assertEquals(500_500, histogram.mean());
+  }
+}
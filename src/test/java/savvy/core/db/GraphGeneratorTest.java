@@ -0,0 +1,49 @@
+package savvy.core.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import org.junit.jupiter.api.Test;
+import savvy.core.entity.Entity;
+
+class GraphGeneratorTest {
+  private static final GraphShape shape = GraphShape.DEFAULT.withFacts(5_000);
+
+  @Test
+  void sameSeedSameFacts() {
+    assertEquals(new GraphGenerator(shape, 7).facts(), new GraphGenerator(shape, 7).facts());
+    assertNotEquals(new GraphGenerator(shape, 7).facts(), new GraphGenerator(shape, 8).facts());
+  }
+
+  @Test
+  void entitiesKeepTheirAliases() {
+    var aliases = new HashMap<String, Entity>();
+    new GraphGenerator(shape, 7)
+        .generate(
+            fact -> {
+              for (var entity : new Entity[] {fact.subject, fact.object}) {
+                var seen = aliases.putIfAbsent(entity.getName(), entity);
+                assertTrue(seen == null || seen.getAliases().equals(entity.getAliases()));
+              }
+            });
+    assertTrue(aliases.values().stream().anyMatch(e -> e.getAliases().size() > 1));
+  }
+
+  @Test
+  void degreesFollowAPowerLaw() {
+    var degrees = new HashMap<String, Integer>();
+    new GraphGenerator(shape, 7)
+        .generate(
+            fact -> {
+              degrees.merge(fact.subject.getName(), 1, Integer::sum);
+              degrees.merge(fact.object.getName(), 1, Integer::sum);
+            });
+
+    // the hub takes part in far more facts than the average entity
+    var max = degrees.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    assertTrue(max > 20 * shape.averageDegree, "max degree " + max);
+    assertTrue(degrees.size() < shape.entities());
+  }
+}
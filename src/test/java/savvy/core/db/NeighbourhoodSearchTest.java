@@ -0,0 +1,91 @@
+package savvy.core.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import savvy.core.entity.Entity;
+import savvy.core.fact.Fact;
+import savvy.core.fact.Modifier;
+import savvy.core.relationship.Relationship;
+
+class NeighbourhoodSearchTest {
+  private static final Modifier none = new Modifier(true, "", "", "");
+
+  @TempDir File dir;
+
+  private EmbeddedNeo4j en4j;
+  private Dao dao;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    en4j = new EmbeddedNeo4j(new File(dir, "savvy-db"));
+    en4j.createDb(false);
+    dao = new Dao(en4j);
+  }
+
+  @AfterEach
+  void tearDown() {
+    en4j.shutDown();
+  }
+
+  @Test
+  void pagesRelatedFactsNearestFirst() {
+    var near = List.of(fact("a", "knows", "b"), fact("c", "likes", "a"), fact("a", "knows", "a"));
+    var far = List.of(fact("b", "knows", "d"), fact("b", "likes", "c"));
+    near.forEach(dao::createFact);
+    far.forEach(dao::createFact);
+    dao.createFact(fact("d", "knows", "e"));
+
+    var all = dao.readRelatedFacts("a", new NeighbourhoodOptions(2, 10), null);
+    assertEquals(Set.copyOf(near), Set.copyOf(all.facts.subList(0, 3)));
+    assertEquals(Set.copyOf(far), Set.copyOf(all.facts.subList(3, 5)));
+    assertEquals(null, all.next);
+
+    // two at a time -> the same facts in the same order
+    var paged = new ArrayList<Fact>();
+    PageCursor cursor = null;
+    do {
+      var page = dao.readRelatedFacts("a", new NeighbourhoodOptions(2, 2), cursor);
+      paged.addAll(page.facts);
+      cursor = page.next;
+    } while (cursor != null);
+    assertEquals(all.facts, paged);
+
+    assertTrue(dao.readRelatedFacts("missing", NeighbourhoodOptions.DEFAULT, null).facts.isEmpty());
+  }
+
+  @Test
+  void endsWhenOnlyBackEdgesFollow() {
+    dao.createFact(fact("a", "knows", "b"));
+    dao.createFact(fact("c", "likes", "a"));
+
+    // the second hop only leads back to a
+    var page = dao.readRelatedFacts("a", new NeighbourhoodOptions(2, 2), null);
+    assertEquals(2, page.facts.size());
+    assertEquals(null, page.next);
+
+    dao.createFact(fact("b", "knows", "c"));
+    page = dao.readRelatedFacts("a", new NeighbourhoodOptions(2, 2), null);
+    assertEquals(PageCursor.hop(2, -1), page.next);
+    assertEquals(
+        List.of(fact("b", "knows", "c")),
+        dao.readRelatedFacts("a", new NeighbourhoodOptions(2, 2), page.next).facts);
+  }
+
+  private static Fact fact(String subject, String relationship, String object) {
+    return new Fact(
+        new Entity(subject, Set.of()),
+        new Relationship(relationship, Set.of()),
+        new Entity(object, Set.of()),
+        none);
+  }
+}
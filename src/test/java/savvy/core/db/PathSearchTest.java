@@ -0,0 +1,110 @@
+package savvy.core.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import savvy.core.entity.Entity;
+import savvy.core.fact.Fact;
+import savvy.core.fact.Modifier;
+import savvy.core.relationship.Relationship;
+
+class PathSearchTest {
+  private static final Modifier none = new Modifier(true, "", "", "");
+
+  @TempDir File dir;
+
+  private EmbeddedNeo4j en4j;
+  private Dao dao;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    en4j = new EmbeddedNeo4j(new File(dir, "savvy-db"));
+    en4j.createDb(false);
+    dao = new Dao(en4j);
+  }
+
+  @AfterEach
+  void tearDown() {
+    en4j.shutDown();
+  }
+
+  @Test
+  void findsFactsBetweenEntities() {
+    var shortest = List.of(fact("a", "knows", "b"), fact("c", "knows", "b"));
+    var longer = List.of(fact("a", "likes", "d"), fact("d", "likes", "e"), fact("e", "likes", "c"));
+    shortest.forEach(dao::createFact);
+    longer.forEach(dao::createFact);
+    dao.createFact(fact("b", "knows", "f"));
+
+    assertEquals(
+        Set.copyOf(shortest), dao.readFactsBetween("a", "c", new PathOptions(4, 10, true)));
+    var all = new TreeSet<>(shortest);
+    all.addAll(longer);
+    assertEquals(all, dao.readFactsBetween("c", "a", PathOptions.DEFAULT));
+    assertTrue(dao.readFactsBetween("a", "missing", PathOptions.DEFAULT).isEmpty());
+
+    dao.deleteFact(fact("c", "knows", "b"));
+    assertEquals(Set.copyOf(longer), dao.readFactsBetween("a", "c", PathOptions.DEFAULT));
+  }
+
+  @Test
+  void boundsPathLength() {
+    var two = List.of(fact("a", "knows", "b"), fact("b", "knows", "c"));
+    var three = List.of(fact("a", "likes", "d"), fact("d", "likes", "e"), fact("e", "likes", "c"));
+    two.forEach(dao::createFact);
+    three.forEach(dao::createFact);
+
+    assertTrue(dao.readFactsBetween("a", "c", new PathOptions(1, 10, false)).isEmpty());
+    assertEquals(Set.copyOf(two), dao.readFactsBetween("a", "c", new PathOptions(2, 10, false)));
+
+    var all = new TreeSet<>(two);
+    all.addAll(three);
+    assertEquals(all, dao.readFactsBetween("a", "c", new PathOptions(3, 10, false)));
+  }
+
+  @Test
+  void findsTheShortestPathFromAHub() {
+    // many facts around a, few around c -> the search meets on c's side
+    for (var i = 0; i < 50; i++) {
+      dao.createFact(fact("a", "knows", "leaf " + i));
+    }
+    var path = List.of(fact("a", "likes", "b"), fact("b", "likes", "d"), fact("d", "likes", "c"));
+    path.forEach(dao::createFact);
+
+    assertEquals(Set.copyOf(path), dao.readFactsBetween("a", "c", new PathOptions(3, 10, true)));
+    assertTrue(dao.readFactsBetween("a", "c", new PathOptions(2, 10, true)).isEmpty());
+  }
+
+  @Test
+  void stopsAtMaxPaths() {
+    for (var i = 0; i < 5; i++) {
+      dao.createFact(fact("a", "knows", "b" + i));
+      dao.createFact(fact("b" + i, "knows", "c"));
+    }
+    dao.createFact(fact("a", "likes", "d"));
+    dao.createFact(fact("d", "likes", "b0"));
+
+    // two of the five shortest paths, two facts each
+    var capped = dao.readFactsBetween("a", "c", new PathOptions(4, 2, false));
+    assertEquals(4, capped.size());
+    assertTrue(capped.stream().allMatch(f -> f.relationship.getName().equals("knows")));
+    assertEquals(12, dao.readFactsBetween("a", "c", new PathOptions(4, 100, false)).size());
+  }
+
+  private static Fact fact(String subject, String relationship, String object) {
+    return new Fact(
+        new Entity(subject, Set.of()),
+        new Relationship(relationship, Set.of()),
+        new Entity(object, Set.of()),
+        none);
+  }
+}
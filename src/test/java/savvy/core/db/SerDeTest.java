@@ -0,0 +1,105 @@
+package savvy.core.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import savvy.core.fact.Modifier;
+import savvy.core.relationship.Correlate;
+
+class SerDeTest {
+  private static final Set<String> aliases = Set.of("alias A", "alias B", "ünïcödé ⇔");
+  private static final Set<Correlate> correlates =
+      Set.of(new Correlate("parent of", "child of"), new Correlate("mentor", "[←mentor]"));
+  private static final Modifier modifier = new Modifier(false, "the", "", "a");
+
+  /**
+   * writes an object the way values were stored before the Codec existed
+   *
+   * @param o to write
+   * @return the Java serialized bytes
+   */
+  private static byte[] legacy(Object o) throws IOException {
+    var baos = new ByteArrayOutputStream();
+    try (var oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(o);
+    }
+    return baos.toByteArray();
+  }
+
+  @Test
+  void roundTrip() {
+    var strings = new SerDe<String>().fromSet(aliases);
+    assertFalse(SerDe.isLegacy(strings));
+    assertEquals(aliases, new SerDe<String>().toSet(strings));
+
+    var empty = new SerDe<String>().fromSet(Set.of());
+    assertEquals(Set.of(), new SerDe<String>().toSet(empty));
+
+    var corrs = new SerDe<Correlate>().fromSet(correlates);
+    assertEquals(correlates, new SerDe<Correlate>().toSet(corrs));
+
+    var mods = new SerDe<Modifier>().fromObject(modifier);
+    assertEquals(modifier, new SerDe<Modifier>().toType(mods));
+  }
+
+  @Test
+  void readsLegacy() throws IOException {
+    var strings = legacy(new HashSet<>(aliases));
+    assertTrue(SerDe.isLegacy(strings));
+    assertEquals(aliases, new SerDe<String>().toSet(strings));
+
+    var corrs = legacy(new HashSet<>(correlates));
+    assertEquals(correlates, new SerDe<Correlate>().toSet(corrs));
+
+    var mods = legacy(modifier);
+    assertEquals(modifier, new SerDe<Modifier>().toType(mods));
+  }
+
+  @Test
+  void compact() throws IOException {
+    var legacySize = legacy(modifier).length;
+    var compactSize = new SerDe<Modifier>().fromObject(modifier).length;
+
+    assertTrue(compactSize * 4 < legacySize);
+  }
+
+  @Test
+  void rejectsMalformed() {
+    var header = new byte[] {Codec.MAGIC, Codec.VERSION, Codec.STRING_SET};
+
+    // a count of 6 bytes, and one past 32 bits
+    var overlong = bytes(header, 0x80, 0x80, 0x80, 0x80, 0x80, 0x01);
+    assertThrows(IOException.class, () -> Codec.decode(overlong));
+    var overflow = bytes(header, 0xFF, 0xFF, 0xFF, 0xFF, 0x1F);
+    assertThrows(IOException.class, () -> Codec.decode(overflow));
+
+    // a count of 2^28 strings in 1 byte, and a string longer than the value
+    var huge = bytes(header, 0x80, 0x80, 0x80, 0x80, 0x01, 0x00);
+    assertThrows(IOException.class, () -> Codec.decode(huge));
+    var truncated = bytes(header, 0x01, 0x05, 'a');
+    assertThrows(IOException.class, () -> Codec.decode(truncated));
+    assertThrows(IOException.class, () -> Codec.decode(bytes(header, 0x80)));
+  }
+
+  /**
+   * @param header of the value
+   * @param values of the following bytes
+   * @return the header followed by the bytes
+   */
+  private static byte[] bytes(byte[] header, int... values) {
+    var bytes = Arrays.copyOf(header, header.length + values.length);
+    for (var i = 0; i < values.length; i++) {
+      bytes[header.length + i] = (byte) values[i];
+    }
+    return bytes;
+  }
+}
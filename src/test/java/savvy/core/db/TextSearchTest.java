@@ -0,0 +1,131 @@
+package savvy.core.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import savvy.core.entity.Entity;
+import savvy.core.fact.Fact;
+import savvy.core.fact.Modifier;
+import savvy.core.relationship.Relationship;
+
+class TextSearchTest {
+  private static final Modifier none = new Modifier(true, "", "", "");
+
+  @TempDir File dir;
+
+  private EmbeddedNeo4j en4j;
+  private Dao dao;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    en4j = new EmbeddedNeo4j(new File(dir, "savvy-db"));
+    en4j.createDb(false);
+    dao = new Dao(en4j);
+
+    // the full-text indexes are created by procedure, they come online in the background
+    try (var tx = en4j.getService().beginTx()) {
+      tx.schema().awaitIndexesOnline(1, TimeUnit.MINUTES);
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    en4j.shutDown();
+  }
+
+  @Test
+  void escapesQuerySyntax() {
+    assertEquals("born in", TextSearch.escape("Born in"));
+    assertEquals("a \\+ b\\:c", TextSearch.escape("a + b:c"));
+    assertEquals("cats and dogs", TextSearch.escape("cats AND dogs"));
+  }
+
+  @Test
+  void joinsModifiers() {
+    var modifier = new Modifier(true, "former", "", "during 1990");
+    assertEquals("former during 1990", TextSearch.text(modifier));
+    assertEquals("", TextSearch.text(new Modifier(true, "", " ", "")));
+  }
+
+  @Test
+  void ranksFactsMatchingTwiceFirst() {
+    var both = fact("apple", "knows", "apple tree");
+    dao.createFact(both);
+    for (var i = 0; i < 5; i++) {
+      dao.createFact(fact("apple", "knows", "pear " + i));
+    }
+    dao.createFact(fact("pear 0", "knows", "plum"));
+
+    var page = dao.searchFacts("Apple", 10, null);
+    assertEquals(6, page.facts.size());
+    assertEquals(both, page.facts.get(0));
+    assertNull(page.next);
+    assertTrue(dao.searchFacts("cherry", 10, null).facts.isEmpty());
+  }
+
+  @Test
+  void pagesWithoutDuplicatesOrGaps() {
+    var expected = new HashSet<Fact>();
+    for (var i = 0; i < 10; i++) {
+      var fact = fact("apple", "knows", "pear " + i);
+      dao.createFact(fact);
+      expected.add(fact);
+    }
+
+    var read = all(dao.searchFacts("apple", 3, null));
+    assertEquals(10, read.size());
+    assertEquals(expected, new HashSet<>(read));
+
+    // removing a fact already read moves neither the facts after it nor the cursor
+    var first = dao.searchFacts("apple", 3, null);
+    dao.deleteFact(first.facts.get(0));
+    expected.removeAll(first.facts);
+
+    var rest = all(dao.searchFacts("apple", 3, first.next));
+    assertEquals(7, rest.size());
+    assertEquals(expected, new HashSet<>(rest));
+  }
+
+  @Test
+  void rejectsAnotherSearchesCursor() {
+    dao.createFact(fact("apple", "knows", "pear"));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> dao.searchFacts("apple", 3, PageCursor.offset(3, -1)));
+  }
+
+  /**
+   * @param page the first page read
+   * @return the facts of the page and of every page following it
+   */
+  private List<Fact> all(FactsPage page) {
+    var facts = new ArrayList<>(page.facts);
+    while (page.next != null) {
+      page = dao.searchFacts("apple", 3, page.next);
+      facts.addAll(page.facts);
+    }
+    return facts;
+  }
+
+  private static Fact fact(String subject, String relationship, String object) {
+    return new Fact(
+        new Entity(subject, Set.of()),
+        new Relationship(relationship, Set.of()),
+        new Entity(object, Set.of()),
+        none);
+  }
+}
@@ -0,0 +1,50 @@
+package savvy.core.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class EntityIndexTest {
+  private static final Entity a = new Entity("a", Set.of("alias", "first"));
+  private static final Entity b = new Entity("b", Set.of("alias"));
+
+  @Test
+  void findsByNameAndAlias() {
+    var index = new EntityIndex(List.of(a, b));
+
+    assertEquals(List.of(a), index.withIdentifier("a"));
+    assertEquals(List.of(a), index.withIdentifier("first"));
+    assertEquals(Set.of(a, b), Set.copyOf(index.withIdentifier("alias")));
+    assertTrue(index.withIdentifier("missing").isEmpty());
+  }
+
+  @Test
+  void staysInSyncWithTheSet() {
+    var index = new EntityIndex(List.of(a, b));
+
+    index.remove(a);
+    assertTrue(index.withIdentifier("first").isEmpty());
+    assertEquals(List.of(b), index.withIdentifier("alias"));
+
+    index.removeAll(Set.of(b));
+    assertTrue(index.withIdentifier("alias").isEmpty());
+    assertTrue(index.isEmpty());
+  }
+
+  @Test
+  void findsSimilarIdentifiers() {
+    var alice = new Entity("Alice Cooper", Set.of("alice"));
+    var bob = new Entity("Bob Dylan", Set.of());
+    var index = new EntityIndex(List.of(alice, bob));
+
+    assertEquals(List.of(alice), index.similarTo("alcie cooper", 10));
+    assertEquals(List.of(bob), index.similarTo("bob dilan", 10));
+    assertTrue(index.similarTo("zzz", 10).isEmpty());
+
+    index.remove(alice);
+    assertTrue(index.similarTo("alcie cooper", 10).isEmpty());
+  }
+}
@@ -0,0 +1,247 @@
+package savvy.core.fact;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import savvy.core.db.NeighbourhoodOptions;
+import savvy.core.db.PageCursor;
+import savvy.core.db.PathOptions;
+import savvy.core.entity.Entity;
+import savvy.core.relationship.Relationship;
+
+class FactTableTest {
+  private static final Modifier none = new Modifier(true, "", "", "");
+
+  @Test
+  void pagesFactsInSortedOrder() {
+    var table = new FactTable();
+    var facts = List.of(fact("b", "knows", "a"), fact("a", "likes", "c"), fact("a", "knows", "c"));
+    facts.forEach(table::add);
+
+    assertFalse(table.add(fact("a", "likes", "c")));
+    assertEquals(3, table.size());
+    assertEquals(List.copyOf(new TreeSet<>(facts)), table.page(0, 10));
+    assertEquals(List.of(fact("b", "knows", "a")), table.page(2, 10));
+  }
+
+  @Test
+  void staysInSyncWithAddsAndRemoves() {
+    var table = new FactTable();
+    var expected = new TreeSet<Fact>();
+    var random = new Random(42);
+
+    for (var i = 0; i < 10_000; i++) {
+      var fact = fact("e" + random.nextInt(50), "r" + random.nextInt(5), "e" + random.nextInt(50));
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(fact), table.remove(fact));
+      } else {
+        assertEquals(expected.add(fact), table.add(fact));
+      }
+    }
+
+    assertEquals(expected.size(), table.size());
+    assertEquals(new ArrayList<>(expected), table.page(0, expected.size()));
+  }
+
+  @Test
+  void keepsOrderAndAdjacencyAcrossChanges() {
+    var table = new FactTable();
+    var expected = new TreeSet<Fact>();
+    var random = new Random(7);
+    var options = new NeighbourhoodOptions(2, Integer.MAX_VALUE);
+    // every shortest path, so the facts found do not depend on the order they are listed in
+    var paths = new PathOptions(4, Integer.MAX_VALUE, true);
+
+    // sorted & listed before the changes, so they are kept up to date rather than rebuilt
+    expected.add(fact("e0", "r0", "e1"));
+    table.add(fact("e0", "r0", "e1"));
+    table.page(0, 1);
+    table.related("e0", options, null);
+
+    for (var i = 1; i <= 10_000; i++) {
+      var fact = fact("e" + random.nextInt(60), "r" + random.nextInt(3), "e" + random.nextInt(60));
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(fact), table.remove(fact));
+      } else {
+        assertEquals(expected.add(fact), table.add(fact));
+      }
+
+      if (i % 1_000 == 0) {
+        var rebuilt = new FactTable();
+        rebuilt.load(expected::forEach);
+
+        assertEquals(new ArrayList<>(expected), table.page(0, expected.size()));
+        for (var e = 0; e < 60; e += 7) {
+          var name = "e" + e;
+          assertEquals(
+              Set.copyOf(rebuilt.related(name, options, null).facts),
+              Set.copyOf(table.related(name, options, null).facts));
+          assertEquals(
+              rebuilt.between(name, "e1", paths), table.between(name, "e1", paths));
+        }
+      }
+    }
+  }
+
+  @Test
+  void replacesEntityVersions() {
+    var table = new FactTable();
+    table.add(fact("a", "knows", "b"));
+    table.replace(new Entity("a", Set.of("alias")));
+
+    assertTrue(table.page(0, 1).get(0).subject.hasIdentifier("alias"));
+    assertFalse(table.remove(fact("missing", "knows", "b")));
+  }
+
+  @Test
+  void pagesRelatedFactsNearestFirst() {
+    var table = new FactTable();
+    var near = List.of(fact("a", "knows", "b"), fact("c", "likes", "a"), fact("a", "knows", "a"));
+    var far = List.of(fact("b", "knows", "d"), fact("b", "likes", "c"));
+    near.forEach(table::add);
+    far.forEach(table::add);
+    table.add(fact("d", "knows", "e"));
+
+    var all = table.related("a", new NeighbourhoodOptions(2, 10), null);
+    assertEquals(Set.copyOf(near), Set.copyOf(all.facts.subList(0, 3)));
+    assertEquals(Set.copyOf(far), Set.copyOf(all.facts.subList(3, 5)));
+    assertEquals(null, all.next);
+
+    // two at a time -> the same facts in the same order
+    var paged = new ArrayList<Fact>();
+    PageCursor cursor = null;
+    do {
+      var page = table.related("a", new NeighbourhoodOptions(2, 2), cursor);
+      paged.addAll(page.facts);
+      cursor = page.next;
+    } while (cursor != null);
+    assertEquals(all.facts, paged);
+
+    assertTrue(table.related("missing", NeighbourhoodOptions.DEFAULT, null).facts.isEmpty());
+  }
+
+  @Test
+  void endsRelatedFactsWhenOnlyBackEdgesFollow() {
+    var table = new FactTable();
+    table.add(fact("a", "knows", "b"));
+    table.add(fact("c", "likes", "a"));
+
+    // the second hop only leads back to a
+    var page = table.related("a", new NeighbourhoodOptions(2, 2), null);
+    assertEquals(2, page.facts.size());
+    assertEquals(null, page.next);
+
+    table.add(fact("b", "knows", "c"));
+    page = table.related("a", new NeighbourhoodOptions(2, 2), null);
+    assertEquals(PageCursor.hop(2, -1), page.next);
+  }
+
+  @Test
+  void findsFactsBetweenEntities() {
+    var table = new FactTable();
+    var shortest = List.of(fact("a", "knows", "b"), fact("c", "knows", "b"));
+    var longer = List.of(fact("a", "likes", "d"), fact("d", "likes", "e"), fact("e", "likes", "c"));
+    shortest.forEach(table::add);
+    longer.forEach(table::add);
+    table.add(fact("b", "knows", "f"));
+
+    assertEquals(Set.copyOf(shortest), table.between("a", "c", new PathOptions(4, 10, true)));
+    var all = new TreeSet<>(shortest);
+    all.addAll(longer);
+    assertEquals(all, new TreeSet<>(table.between("c", "a", PathOptions.DEFAULT)));
+    assertTrue(table.between("a", "c", new PathOptions(1, 10, false)).isEmpty());
+
+    table.remove(fact("c", "knows", "b"));
+    assertEquals(Set.copyOf(longer), table.between("a", "c", PathOptions.DEFAULT));
+  }
+
+  @Test
+  void countsDegreesAndRelationships() {
+    var table = new FactTable();
+    table.add(fact("a", "knows", "b"));
+    table.add(fact("a", "likes", "c"));
+    table.add(fact("a", "knows", "a"));
+    var knows = new Relationship("knows", Set.of());
+
+    assertEquals(3, table.degree("a"));
+    assertEquals(1, table.degree("b"));
+    assertEquals(0, table.degree("missing"));
+    assertEquals(Map.of(knows, 2L), table.counts(List.of("knows", "missing")));
+
+    table.remove(fact("a", "likes", "c"));
+    table.remove(fact("a", "knows", "a"));
+    assertEquals(1, table.degree("a"));
+    assertEquals(0, table.degree("c"));
+    assertEquals(Map.of(knows, 1L), table.counts(List.of("knows", "likes")));
+  }
+
+  @Test
+  void searchesAgainAfterEntitiesAreAdded() {
+    var table = new FactTable();
+    table.add(fact("a", "knows", "b"));
+    assertEquals(1, table.related("a", new NeighbourhoodOptions(2, 10), null).facts.size());
+
+    // entities the previous searches' marks do not hold yet
+    for (var i = 0; i < 100; i++) {
+      table.add(fact("b", "knows", "c" + i));
+    }
+    table.add(fact("c99", "knows", "d"));
+    assertEquals(101, table.related("a", new NeighbourhoodOptions(2, 200), null).facts.size());
+    assertEquals(
+        Set.of(fact("a", "knows", "b"), fact("b", "knows", "c99"), fact("c99", "knows", "d")),
+        table.between("a", "d", PathOptions.DEFAULT));
+  }
+
+  @Test
+  void resumesRelatedFactsAfterReload() {
+    var facts =
+        List.of(
+            fact("a", "knows", "b"),
+            fact("a", "likes", "c"),
+            fact("d", "knows", "a"),
+            fact("a", "likes", "e"));
+    var table = new FactTable();
+    facts.forEach(table::add);
+
+    var options = new NeighbourhoodOptions(1, 2);
+    var first = table.related("a", options, null);
+
+    // read back in another order, along with a fact created meanwhile
+    var created = fact("a", "knows", "f");
+    var reloaded = new FactTable();
+    reloaded.load(
+        visit -> {
+          visit.accept(created);
+          for (var i = facts.size() - 1; i >= 0; i--) {
+            visit.accept(facts.get(i));
+          }
+        },
+        table);
+
+    var read = new ArrayList<>(first.facts);
+    for (var cursor = first.next; cursor != null; ) {
+      var page = reloaded.related("a", options, cursor);
+      read.addAll(page.facts);
+      cursor = page.next;
+    }
+    var expected = new ArrayList<>(facts);
+    expected.add(created);
+    assertEquals(expected, read);
+  }
+
+  private static Fact fact(String subject, String relationship, String object) {
+    return new Fact(
+        new Entity(subject, Set.of()),
+        new Relationship(relationship, Set.of()),
+        new Entity(object, Set.of()),
+        none);
+  }
+}
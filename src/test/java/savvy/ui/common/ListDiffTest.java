@@ -0,0 +1,30 @@
+package savvy.ui.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ListDiffTest {
+
+  @Test
+  void mergesSortedSnapshotsWithMinimalChanges() {
+    var items = new ArrayList<>(List.of("a", "b", "c", "d", "e", "f"));
+
+    assertEquals(0, ListDiff.update(items, List.of("a", "b", "c", "d", "e", "f")));
+    assertEquals(3, ListDiff.update(items, List.of("a", "bb", "c", "d", "dd", "ee", "f")));
+    assertEquals(List.of("a", "bb", "c", "d", "dd", "ee", "f"), items);
+
+    assertEquals(7, ListDiff.update(items, List.of()));
+    assertEquals(List.of(), items);
+  }
+
+  @Test
+  void replacesTheChangedMiddleOfUnsortedSnapshots() {
+    var items = new ArrayList<>(List.of("a", "z", "b", "y", "c"));
+
+    assertEquals(4, ListDiff.update(items, List.of("a", "x", "w", "c")));
+    assertEquals(List.of("a", "x", "w", "c"), items);
+  }
+}
@@ -0,0 +1,40 @@
+package savvy.ui.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PrefixTrieTest {
+
+  @Test
+  void completesInOrderIgnoringCase() {
+    var trie = new PrefixTrie();
+    List.of("carol", "Bob", "bobby", "alice", "bo").forEach(trie::add);
+
+    assertEquals(List.of("bo", "Bob", "bobby"), trie.complete("bo", 10));
+    assertEquals(List.of("bo", "Bob"), trie.complete("BO", 2));
+    assertTrue(trie.complete("dave", 10).isEmpty());
+  }
+
+  @Test
+  void keepsWordsUntilRemovedAsOftenAsAdded() {
+    var trie = new PrefixTrie();
+    trie.add("alias");
+    trie.add("alias");
+    trie.add("alice");
+
+    trie.remove("alias");
+    assertEquals(List.of("alias", "alice"), trie.complete("ali", 10));
+
+    trie.remove("alias");
+    trie.remove("missing");
+    assertEquals(List.of("alice"), trie.complete("ali", 10));
+    assertEquals(1, trie.size());
+
+    trie.remove("alice");
+    assertTrue(trie.complete("a", 10).isEmpty());
+    assertEquals(0, trie.size());
+  }
+}